@@ -2,14 +2,19 @@ package smartTeamMate.main;
 
 import smartTeamMate.model.Player;
 import smartTeamMate.model.Team;
+import smartTeamMate.repository.FormationSnapshot;
+import smartTeamMate.repository.FormationSnapshotStore;
 import smartTeamMate.repository.PlayerRepository;
 import smartTeamMate.repository.TeamRepository;
 import smartTeamMate.rules.TeamRules;
 import smartTeamMate.service.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -28,24 +33,30 @@ public class AppController {
     private final TeamRules teamRules;
     private final SkillBalancer skillBalancer;
     private static final Logger logger = Logger.getLogger(AppController.class.getName());
+    private final Map<String, PlayerRepository> surveyRepositories = new LinkedHashMap<>();
+
+    private static final String RULES_FILE = "team_rules.properties";
+    // Cohorts this large are formed in stratified shards
+    private static final int HIERARCHICAL_THRESHOLD = 10_000;
 
     private static final int OPTION_RUN_SURVEY = 1;
-    private static final int OPTION_FORM_TEAMS = 2;
-    private static final int OPTION_EXIT = 3;
+    private static final int OPTION_IMPORT_SURVEYS = 2;
+    private static final int OPTION_FORM_TEAMS = 3;
+    private static final int OPTION_EXIT = 4;
 
     private static final int VIEW_ALL_TEAMS = 1;
     private static final int VIEW_VALID_TEAMS = 2;
 
     public AppController() {
-        this.teamRules = new TeamRules();
+        this.teamRules = TeamRules.loadOrDefault(Path.of(RULES_FILE));
         this.teamEvaluator = new TeamEvaluator(teamRules);
         this.skillBalancer = new SkillBalancer(teamEvaluator, 20,2000);
         this.teamBuilder = new TeamBuilder(teamRules,teamEvaluator,skillBalancer);
         this.scanner = new Scanner(System.in);
-        this.validator = new SurveyValidator();
+        this.validator = new SurveyValidator(scanner);
         this.classifier = new PersonalityClassifier();
         this.surveyHandler = new ConsoleSurveyHandler(scanner, validator, classifier);
-        this.teamService = new TeamService();
+        this.teamService = new TeamService(teamRules, Objectives.loadOrStandard(teamRules, Path.of(RULES_FILE)));
     }
 
     public void run() {
@@ -68,8 +79,9 @@ public class AppController {
 
     private void displayMainMenu() {
         System.out.println("\n1) Run the Survey");
-        System.out.println("2) Form teams");
-        System.out.println("3) Exit");
+        System.out.println("2) Import survey responses");
+        System.out.println("3) Form teams");
+        System.out.println("4) Exit");
         System.out.print("Select:: ");
     }
 
@@ -79,6 +91,10 @@ public class AppController {
                 logger.info("Starting survey flow");
                 handlePlayerFormFlow();
                 return true;
+            case OPTION_IMPORT_SURVEYS:
+                logger.info("Starting bulk survey import flow");
+                handleSurveyImportFlow();
+                return true;
             case OPTION_FORM_TEAMS:
                 logger.info("Starting team formation flow");
                 handleTeamFormationFlow();
@@ -94,6 +110,7 @@ public class AppController {
 
     private void handleExit() {
         logger.info("Exiting program");
+        surveyRepositories.values().forEach(PlayerRepository::compact);
         System.out.println("Thank you for using SmartTeamMate System!!");
         exit(0);
     }
@@ -155,6 +172,8 @@ public class AppController {
             Player player = surveyHandler.conductSurvey(playerId);
 
             playerRepository.savePlayer(player);
+            // The journal is folded into the CSV at its threshold or on exit, not per registration
+            surveyRepositories.putIfAbsent(filename, playerRepository);
             logger.info("Player saved: " + player.getName() + ", ID: " + playerId);
 
             displayPlayerSaveSuccess(player);
@@ -165,6 +184,24 @@ public class AppController {
         }
     }
 
+    private void handleSurveyImportFlow() {
+        try {
+            System.out.print("Responses file (name,email,game,role,skill,q1..q5):: ");
+            Path responses = Path.of(scanner.nextLine().trim());
+            String filename = getValidatedCsvFilename("Please enter a file name to save the players:: ");
+            PlayerRepository playerRepository = new PlayerRepository(filename);
+
+            BulkImportReport report = new BulkSurveyImporter(classifier).importResponses(responses, playerRepository);
+            playerRepository.compact();
+
+            System.out.println("Imported " + report.getImported() + " players, rejected " + report.getRejected() + ".");
+            report.getRejections().forEach(r -> System.out.println("  " + r));
+        } catch (IOException e) {
+            logger.severe("Error in survey import flow: " + e.getMessage());
+            System.out.println("Could not read the responses file: " + e.getMessage());
+        }
+    }
+
     private void displayPlayerSaveSuccess(Player player) {
         System.out.println("===================================================");
         System.out.println("\nPlayer saved successfully!");
@@ -213,17 +250,39 @@ public class AppController {
                 return false;
             }
 
-            int teamSize = getTeamSize();
-            logger.info("User selected team size: " + teamSize);
-
-            List<Team> allTeams = teamService.createTeams(allPlayers, teamSize);
-            List<Team> validTeams = teamService.getValidTeams(allTeams,teamSize);
+            List<Team> allTeams;
+            List<Team> validTeams;
+            int teamSize;
+            boolean byGame = false;
+            FormationSnapshot snapshot = getUserConfirmation("Resume from a saved formation snapshot (y/n):: ")
+                    ? loadSnapshot(allPlayers) : null;
+            if (snapshot != null) {
+                teamSize = snapshot.getTeamSize();
+                allTeams = teamService.resumeFormation(snapshot, allPlayers);
+                validTeams = allTeams;
+            } else {
+                teamSize = getTeamSize();
+                logger.info("User selected team size: " + teamSize);
+
+                byGame = getUserConfirmation("Form teams only from players of the same game (y/n):: ");
+                if (byGame) {
+                    // Validated against each game's adapted rules, not the global game cap
+                    allTeams = teamService.createTeamsByGame(allPlayers, teamSize);
+                    validTeams = allTeams;
+                } else {
+                    allTeams = allPlayers.size() >= HIERARCHICAL_THRESHOLD
+                            ? teamService.createTeamsHierarchical(allPlayers, teamSize)
+                            : teamService.createTeams(allPlayers, teamSize);
+                    validTeams = teamService.getValidTeams(allTeams,teamSize);
+                }
+            }
             logger.info("Teams created: " + validTeams.size());
 
             displayTeams(validTeams);
 
             if (getUserConfirmation("Do you want to save current team formations (y/n):: ")) {
-                saveTeams(allTeams);
+                // Game-partitioned teams follow per-game rules, so they cannot be resumed under the global ones
+                saveTeams(allTeams, byGame ? null : teamService.snapshot(allTeams, teamSize));
             }
 
             return getUserConfirmation("\nDo you need to create another formation (y/n):: ");
@@ -258,13 +317,37 @@ public class AppController {
         logger.info("Displayed " + teams.size() + " teams to user");
     }
 
-    private void saveTeams(List<Team> teams) {
+    private FormationSnapshot loadSnapshot(List<Player> players) {
+        System.out.print("Snapshot file:: ");
+        String filename = scanner.nextLine().trim();
+        try {
+            FormationSnapshot snapshot = new FormationSnapshotStore().load(Path.of(filename), players);
+            System.out.println("Loaded " + snapshot.getTeams().size() + " teams of " + snapshot.getTeamSize()
+                    + " saved at " + snapshot.getSavedAt());
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Could not load snapshot " + filename + ": " + e.getMessage());
+            System.out.println("Could not load the snapshot; forming new teams instead.");
+            return null;
+        }
+    }
+
+    /**
+     * @param snapshot written next to the summary as &lt;name&gt;.snapshot, or null to skip it
+     */
+    private void saveTeams(List<Team> teams, FormationSnapshot snapshot) {
         try {
             System.out.print("File Name:: ");
             String filename = scanner.nextLine().trim();
             TeamRepository teamRepository = new TeamRepository(filename);
-            teamRepository.saveAllTeams(teams);
-            System.out.println("Teams saved successfully to " + filename);
+            teamRepository.exportAll(teams);
+            System.out.println("Teams added to " + filename
+                    + " (with .jsonl and _assignments.csv exports alongside); existing teams were kept");
+            if (snapshot != null) {
+                Path snapshotFile = Path.of(filename.replaceFirst("(?i)\\.csv$", "") + ".snapshot");
+                new FormationSnapshotStore().save(snapshot, snapshotFile);
+                System.out.println("Formation snapshot saved to " + snapshotFile);
+            }
             logger.info("Teams saved to file: " + filename);
         } catch (Exception e) {
             logger.severe("Error saving teams: " + e.getMessage());
@@ -0,0 +1,33 @@
+package smartTeamMate.model;
+
+public enum Personality {
+    LEADER("Leader"),
+    THINKER("Thinker"),
+    BALANCED("Balanced");
+
+    private final String displayName;
+
+    Personality(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /** Case-insensitive lookup by display name; throws IllegalArgumentException if unknown */
+    public static Personality fromString(String value) {
+        if (value != null) {
+            String trimmed = value.trim();
+            for (Personality p : values()) {
+                if (p.displayName.equalsIgnoreCase(trimmed)) return p;
+            }
+        }
+        throw new IllegalArgumentException("Unknown personality type: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
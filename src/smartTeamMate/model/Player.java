@@ -1,5 +1,7 @@
 package smartTeamMate.model;
 
+import smartTeamMate.repository.CsvRecord;
+
 import java.util.List;
 
 public class Player {
@@ -10,9 +12,13 @@ public class Player {
     private Role preferredRole;
     private int skillLevel;
     private int personalityScore;
-    private String personalityType;
+    private Personality personality;
 
     public Player(String name, String id, String email, Game preferredGame,int skillLevel, Role preferredRole, int personalityScore, String personalityType) {
+        this(name, id, email, preferredGame, skillLevel, preferredRole, personalityScore, Personality.fromString(personalityType));
+    }
+
+    public Player(String name, String id, String email, Game preferredGame,int skillLevel, Role preferredRole, int personalityScore, Personality personality) {
         this.name = name;
         this.id = id;
         this.email = email;
@@ -20,7 +26,7 @@ public class Player {
         this.preferredRole = preferredRole;
         this.skillLevel = skillLevel;
         this.personalityScore = personalityScore;
-        this.personalityType = personalityType;
+        this.personality = personality;
     }
 
     public String getName() {
@@ -79,24 +85,32 @@ public class Player {
         this.personalityScore = personalityScore;
     }
 
+    public Personality getPersonality() {
+        return personality;
+    }
+
+    public void setPersonality(Personality personality) {
+        this.personality = personality;
+    }
+
     public String getPersonalityType() {
-        return personalityType;
+        return personality.getDisplayName();
     }
 
     public void setPersonalityType(String personalityType) {
-        this.personalityType = personalityType;
+        this.personality = Personality.fromString(personalityType);
     }
 
     public String toCSV() {
         return String.join(",",
-                id,
-                name,
-                email,
+                CsvRecord.quote(id),
+                CsvRecord.quote(name),
+                CsvRecord.quote(email),
                 preferredGame.name(),
                 String.valueOf(skillLevel),
                 preferredRole.name(),
                 String.valueOf(personalityScore),
-                personalityType
+                personality.getDisplayName()
         );
     }
 
@@ -66,10 +66,19 @@ public class Team {
     }
 
     /** Count by personality */
+    public long countByPersonality(Personality personality) {
+        return personalityCounts()[personality.ordinal()];
+    }
+
     public long countByPersonality(String personality) {
-        return getMembersSnapshot().stream()
-                .filter(p -> p.getPersonalityType().equalsIgnoreCase(personality))
-                .count();
+        return countByPersonality(Personality.fromString(personality));
+    }
+
+    /** Member count per personality, indexed by Personality ordinal */
+    public int[] personalityCounts() {
+        int[] counts = new int[Personality.values().length];
+        for (Player p : getMembersSnapshot()) counts[p.getPersonality().ordinal()]++;
+        return counts;
     }
 
     /** Summaries */
@@ -111,9 +120,10 @@ public class Team {
     }
 
     public String getStatsSummary() {
-        long leaders = countByPersonality("Leader");
-        long thinkers = countByPersonality("Thinker");
-        long balanced = countByPersonality("Balanced");
+        int[] counts = personalityCounts();
+        long leaders = counts[Personality.LEADER.ordinal()];
+        long thinkers = counts[Personality.THINKER.ordinal()];
+        long balanced = counts[Personality.BALANCED.ordinal()];
 
         return "\n--- Stats for " + name + " ---" +
                 "\nMembers: " + members.size() +
@@ -127,13 +137,14 @@ public class Team {
     }
 
     public String toCSV() {
+        int[] counts = personalityCounts();
         return String.join(",",
                 name,
                 String.valueOf(members.size()),
                 String.format("%.2f", getTotalSkillAvg()),
-                String.valueOf(countByPersonality("Leader")),
-                String.valueOf(countByPersonality("Thinker")),
-                String.valueOf(countByPersonality("Balanced")),
+                String.valueOf(counts[Personality.LEADER.ordinal()]),
+                String.valueOf(counts[Personality.THINKER.ordinal()]),
+                String.valueOf(counts[Personality.BALANCED.ordinal()]),
                 roleSummaryCSV(),
                 gameSummaryCSV(),
                 memberListCSV()
@@ -1,28 +1,46 @@
 package smartTeamMate.repository;
 
-import smartTeamMate.model.Game;
 import smartTeamMate.model.Player;
-import smartTeamMate.model.Role;
 import smartTeamMate.model.Team;
 
 import java.io.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class CSVhandler {
     private static final Logger log = Logger.getLogger(CSVhandler.class.getName());
 
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
     private final String filePath;
     private final String HEADER;
+    private final int batchSize;
+    private final int parallelism;
 
     public CSVhandler(String filePath, String header) {
+        this(filePath, header, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param batchSize   records per parse task when loading players
+     * @param parallelism number of parse workers
+     */
+    public CSVhandler(String filePath, String header, int batchSize, int parallelism) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("batchSize and parallelism must be positive");
+        }
         this.filePath = filePath;
         this.HEADER = header;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
         log.info("CSV Handler initialized for file: " + filePath);
         ensureHeader();
     }
@@ -84,7 +102,7 @@ public class CSVhandler {
             throw new RuntimeException("Failed to read CSV player", e);
         }
 
-        if (lastLine == null || lastLine.startsWith("id")) {
+        if (lastLine == null || lastLine.regionMatches(true, 0, "id", 0, 2)) {
             log.warning("No players found, returning default ID P000");
             return "P000";
         }
@@ -95,71 +113,122 @@ public class CSVhandler {
     }
 
     public List<Player> getPlayers() {
-        log.info("Starting parallel player loading...");
-
-        List<Player> players = new ArrayList<>();
-        ExecutorService pool = Executors.newFixedThreadPool(
-                Runtime.getRuntime().availableProcessors()
-        );
-
-        List<Future<Player>> futures = new ArrayList<>();
-
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-
-            br.readLine(); // skip header
+        return getPlayers(p -> { });
+    }
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                String trimmed = line.trim();
-                if (trimmed.isEmpty()) continue;
+    /**
+     * Loads all players, handing each valid one to the listener in file order as it is
+     * collected, e.g. to gather statistics without another pass over the list.
+     */
+    public List<Player> getPlayers(Consumer<Player> listener) {
+        return loadPlayers(listener).getPlayers();
+    }
 
-                futures.add(pool.submit(() -> parsePlayerLine(trimmed)));
-            }
+    /**
+     * Loads all players as a pipeline: this thread reads records into batches of batchSize,
+     * up to two batches per worker are parsed concurrently, and finished batches are merged
+     * strictly in file order, so the listener sees players in file order.
+     */
+    public PlayerLoadResult loadPlayers(Consumer<Player> listener) {
+        log.info("Starting parallel player loading (batch size " + batchSize + ", " + parallelism + " workers)...");
 
-            for (Future<Player> f : futures) {
-                try {
-                    Player p = f.get();
-                    if (p != null) {
-                        players.add(p);
+        List<Player> players = new ArrayList<>();
+        int malformed = 0;
+        long firstMalformedLine = -1;
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "csv-parse");
+            t.setDaemon(true);
+            return t;
+        });
+        ArrayDeque<Future<ParsedBatch>> inFlight = new ArrayDeque<>();
+
+        try (CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new FileReader(filePath)))) {
+
+            PlayerColumns columns = readColumns(reader.next());
+
+            boolean more = true;
+            while (more || !inFlight.isEmpty()) {
+                if (more && inFlight.size() < parallelism * 2) {
+                    CsvRecord[] records = new CsvRecord[batchSize];
+                    long[] lines = new long[batchSize];
+                    int n = 0;
+                    CsvRecord record;
+                    while (n < batchSize && (record = reader.next()) != null) {
+                        records[n] = record;
+                        lines[n++] = reader.getLineNumber();
+                    }
+                    more = n == batchSize;
+                    if (n > 0) {
+                        int size = n;
+                        inFlight.add(pool.submit(() -> parseBatch(records, lines, size, columns)));
                     }
-                } catch (Exception e) {
-                    log.log(Level.WARNING, "Skipping invalid player row due to parsing error.", e);
+                    continue;
                 }
+
+                // Queue full or input exhausted: merge the oldest batch
+                ParsedBatch batch = inFlight.poll().get();
+                for (Player p : batch.players) {
+                    players.add(p);
+                    listener.accept(p);
+                }
+                if (batch.malformed > 0 && firstMalformedLine < 0) firstMalformedLine = batch.firstMalformedLine;
+                malformed += batch.malformed;
             }
 
         } catch (IOException e) {
             log.log(Level.SEVERE, "Failed to read players from CSV", e);
             throw new RuntimeException("Failed to read players", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading players", e);
+        } catch (ExecutionException e) {
+            log.log(Level.SEVERE, "Failed to parse players from CSV", e.getCause());
+            throw new RuntimeException("Failed to parse players", e.getCause());
+        } finally {
+            pool.shutdownNow();
         }
 
-        pool.shutdown();
+        PlayerLoadResult result = new PlayerLoadResult(players, malformed, firstMalformedLine);
+        if (malformed > 0) {
+            log.warning("Skipped " + malformed + " malformed rows in " + filePath
+                    + " (first at line " + firstMalformedLine + ")");
+        }
         log.info("Completed loading players. Total valid players: " + players.size());
-        return players;
+        return result;
     }
 
-    private Player parsePlayerLine(String line) {
-        try {
-            String[] parts = line.split(",");
-            if (parts.length != 8) {
-                log.warning("Malformed row skipped: " + line);
-                return null;
+    private static ParsedBatch parseBatch(CsvRecord[] records, long[] lines, int size, PlayerColumns columns) {
+        ParsedBatch batch = new ParsedBatch(size);
+        for (int i = 0; i < size; i++) {
+            Player p = PlayerLineParser.parse(records[i], columns);
+            if (p != null) {
+                batch.players.add(p);
+            } else if (batch.malformed++ == 0) {
+                batch.firstMalformedLine = lines[i];
             }
+        }
+        return batch;
+    }
+
+    /** Parse output of one batch of records */
+    private static class ParsedBatch {
+        final List<Player> players;
+        int malformed;
+        long firstMalformedLine = -1;
+
+        ParsedBatch(int size) {
+            players = new ArrayList<>(size);
+        }
+    }
 
-            String id = parts[0];
-            String name = parts[1];
-            String email = parts[2];
-            Game game = Game.valueOf(parts[3].trim().toUpperCase().replace(" ", "").replace(":", ""));
-            int skillLevel = Integer.parseInt(parts[4]);
-            Role role = Role.valueOf(parts[5].trim().toUpperCase().replace(" ", ""));
-            int personalityScore = Integer.parseInt(parts[6]);
-            String personalityType = parts[7];
-
-            log.fine("Parsed player row successfully: " + id);
-            return new Player(name, id, email, game, skillLevel, role, personalityScore, personalityType);
-
-        } catch (Exception e) {
-            log.log(Level.WARNING, "Failed parsing row: " + line, e);
-            return null;
+    /** Column mapping from the header line; falls back to the default order if it is not recognised */
+    private PlayerColumns readColumns(CsvRecord header) {
+        PlayerColumns columns = header == null ? null : PlayerColumns.fromHeader(header);
+        if (columns == null) {
+            log.warning("Unrecognised CSV header, assuming default column order: " + header);
+            return PlayerColumns.DEFAULT;
         }
+        return columns;
     }
 }
@@ -0,0 +1,185 @@
+package smartTeamMate.repository;
+
+import java.util.Arrays;
+
+/**
+ * One CSV record: the field contents laid out in a single string plus the start and end
+ * offset of every field.
+ *
+ * For a line without quotes the string is the line itself and only the commas are located.
+ * Lines with quotes go through an RFC 4180 state machine that strips the enclosing quotes
+ * and unescapes doubled quotes, so quoted fields may contain commas and line breaks.
+ */
+public final class CsvRecord {
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;   // a quote inside a quoted field: closing or escaped
+
+    private final String text;
+    private final int[] bounds;
+
+    private CsvRecord(String text, int[] bounds) {
+        this.text = text;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Splits a complete record. Returns null if a quoted field is still open at the end,
+     * i.e. the record continues on the next line.
+     */
+    public static CsvRecord parse(String line) {
+        if (line.indexOf('"') < 0) return split(line);
+
+        StringBuilder out = new StringBuilder(line.length());
+        int[] bounds = new int[16];
+        int fields = 0;
+        int start = 0;
+        int state = FIELD_START;
+
+        for (int i = 0, n = line.length(); i < n; i++) {
+            char c = line.charAt(i);
+            switch (state) {
+                case FIELD_START:
+                    if (c == '"') {
+                        state = QUOTED;
+                    } else if (c == ',') {          // empty field
+                        bounds = store(bounds, fields++, start, out.length());
+                    } else {
+                        out.append(c);
+                        state = UNQUOTED;
+                    }
+                    break;
+                case UNQUOTED:
+                    if (c == ',') {
+                        bounds = store(bounds, fields++, start, out.length());
+                        start = out.length();
+                        state = FIELD_START;
+                    } else {
+                        out.append(c);
+                    }
+                    break;
+                case QUOTED:
+                    if (c == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    } else {
+                        out.append(c);
+                    }
+                    break;
+                default:
+                    if (c == '"') {                 // "" is an escaped quote
+                        out.append('"');
+                        state = QUOTED;
+                    } else if (c == ',') {
+                        bounds = store(bounds, fields++, start, out.length());
+                        start = out.length();
+                        state = FIELD_START;
+                    } else {                        // text after the closing quote is kept as is
+                        out.append(c);
+                        state = UNQUOTED;
+                    }
+                    break;
+            }
+        }
+        if (state == QUOTED) return null;
+
+        bounds = store(bounds, fields++, start, out.length());
+        return new CsvRecord(out.toString(), Arrays.copyOf(bounds, fields * 2));
+    }
+
+    /**
+     * Whether a quoted field is still open after the line, given whether one was open before it.
+     * Follows the same states as {@link #parse}, so a reader can find the end of a multi-line
+     * record by scanning each new line once.
+     */
+    static boolean endsInQuotes(String line, boolean inQuotes) {
+        int state = inQuotes ? QUOTED : FIELD_START;
+        for (int i = 0, n = line.length(); i < n; i++) {
+            char c = line.charAt(i);
+            switch (state) {
+                case FIELD_START:
+                    state = c == '"' ? QUOTED : c == ',' ? FIELD_START : UNQUOTED;
+                    break;
+                case UNQUOTED:
+                    if (c == ',') state = FIELD_START;
+                    break;
+                case QUOTED:
+                    if (c == '"') state = QUOTE_IN_QUOTED;
+                    break;
+                default:
+                    state = c == '"' ? QUOTED : c == ',' ? FIELD_START : UNQUOTED;
+                    break;
+            }
+        }
+        return state == QUOTED;
+    }
+
+    /** The value as a CSV field, quoted only if it contains a comma, quote or line break */
+    public static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /** Fast path for a line without quotes: fields are the text between commas */
+    private static CsvRecord split(String line) {
+        int commas = 0;
+        for (int i = 0, n = line.length(); i < n; i++) {
+            if (line.charAt(i) == ',') commas++;
+        }
+        int[] bounds = new int[(commas + 1) * 2];
+        int field = 0;
+        int start = 0;
+        for (int i = 0, n = line.length(); i < n; i++) {
+            if (line.charAt(i) == ',') {
+                bounds[field++] = start;
+                bounds[field++] = i;
+                start = i + 1;
+            }
+        }
+        bounds[field++] = start;
+        bounds[field] = line.length();
+        return new CsvRecord(line, bounds);
+    }
+
+    private static int[] store(int[] bounds, int field, int start, int end) {
+        if (field * 2 + 1 >= bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        bounds[field * 2] = start;
+        bounds[field * 2 + 1] = end;
+        return bounds;
+    }
+
+    /** Number of fields */
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    /** The unescaped field contents; field i is text()[start(i), end(i)) */
+    public String text() {
+        return text;
+    }
+
+    public int start(int field) {
+        return bounds[field * 2];
+    }
+
+    public int end(int field) {
+        return bounds[field * 2 + 1];
+    }
+
+    public String get(int field) {
+        return text.substring(start(field), end(field));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) sb.append(" | ");
+            sb.append(get(i));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package smartTeamMate.repository;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams {@link CsvRecord}s from a reader, one line at a time. Blank lines are skipped,
+ * and a record whose quoted field spans a line break is joined with the following lines.
+ * Each line is scanned once for the quote state, so a long record costs linear time.
+ * <p>
+ * A quote that is still open at the end of the input, or after {@link #MAX_CONTINUATION_LINES}
+ * lines or {@link #MAX_RECORD_CHARS} characters, is treated as a stray quote: only the first line
+ * is returned, closed at its end so the caller rejects it as malformed, and reading resumes with
+ * the line after it.
+ */
+public class CsvRecordReader implements Closeable {
+
+    public static final int MAX_CONTINUATION_LINES = 100;
+    public static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final BufferedReader reader;
+    // lines read past a malformed record, replayed before reading further
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private long lineNumber;
+    private long recordLineNumber;
+
+    public CsvRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /** The next record, or null at the end of the input */
+    public CsvRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) return null;
+        } while (line.trim().isEmpty());
+        recordLineNumber = lineNumber;
+
+        if (!CsvRecord.endsInQuotes(line, false)) return CsvRecord.parse(line);
+
+        List<String> continuation = new ArrayList<>();
+        StringBuilder joined = new StringBuilder(line);
+        boolean inQuotes = true;
+        while (inQuotes) {
+            String more = continuation.size() < MAX_CONTINUATION_LINES && joined.length() <= MAX_RECORD_CHARS
+                    ? readLine() : null;
+            if (more == null) {
+                // stray quote: give back the lines after the first and let the caller reject it
+                for (int i = continuation.size() - 1; i >= 0; i--) pending.addFirst(continuation.get(i));
+                lineNumber -= continuation.size();
+                return CsvRecord.parse(line + '"');
+            }
+            continuation.add(more);
+            joined.append('\n').append(more);
+            inQuotes = CsvRecord.endsInQuotes(more, true);
+        }
+        return CsvRecord.parse(joined.toString());
+    }
+
+    private String readLine() throws IOException {
+        String line = pending.isEmpty() ? reader.readLine() : pending.pollFirst();
+        if (line != null) lineNumber++;
+        return line;
+    }
+
+    /** Number of physical lines read so far */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Line on which the last record returned by {@link #next} starts */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,82 @@
+package smartTeamMate.repository;
+
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.TeamRules;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A complete team formation as saved by {@link FormationSnapshotStore}: every team's members,
+ * the team size and rules it was formed under, and its score.
+ */
+public class FormationSnapshot {
+
+    private final List<Team> teams;
+    private final int teamSize;
+    private final TeamRules rules;
+    private final int validTeams;
+    private final double skillRange;
+    private final Instant savedAt;
+    private final int missingPlayers;
+
+    /**
+     * @param validTeams score: number of valid teams
+     * @param skillRange score: range of the valid teams' skill averages
+     */
+    public FormationSnapshot(List<Team> teams, int teamSize, TeamRules rules, int validTeams, double skillRange) {
+        this(teams, teamSize, rules, validTeams, skillRange, Instant.now(), 0);
+    }
+
+    FormationSnapshot(List<Team> teams, int teamSize, TeamRules rules, int validTeams, double skillRange,
+                      Instant savedAt, int missingPlayers) {
+        this.teams = teams;
+        this.teamSize = teamSize;
+        this.rules = rules;
+        this.validTeams = validTeams;
+        this.skillRange = skillRange;
+        this.savedAt = savedAt;
+        this.missingPlayers = missingPlayers;
+    }
+
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    public int getTeamSize() {
+        return teamSize;
+    }
+
+    public TeamRules getRules() {
+        return rules;
+    }
+
+    public int getValidTeams() {
+        return validTeams;
+    }
+
+    public double getSkillRange() {
+        return skillRange;
+    }
+
+    public Instant getSavedAt() {
+        return savedAt;
+    }
+
+    /** Member IDs in the snapshot that were not found among the players it was loaded with */
+    public int getMissingPlayers() {
+        return missingPlayers;
+    }
+
+    @Override
+    public String toString() {
+        return "FormationSnapshot{" +
+                "teams=" + teams.size() +
+                ", teamSize=" + teamSize +
+                ", validTeams=" + validTeams +
+                ", skillRange=" + String.format("%.2f", skillRange) +
+                ", savedAt=" + savedAt +
+                (missingPlayers == 0 ? "" : ", missingPlayers=" + missingPlayers) +
+                '}';
+    }
+}
@@ -0,0 +1,132 @@
+package smartTeamMate.repository;
+
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.TeamRules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Saves formations as snapshot files and rebuilds their teams from player IDs.
+ *
+ * A snapshot is a properties file: the team size, score and save time, the rules under
+ * "rule." in the keys of {@link TeamRules#fromProperties}, and each team as team.N.name and
+ * team.N.members (IDs joined by '|'). It is written to a temporary file, forced and moved
+ * over the target atomically, so a crash leaves either the old snapshot or the new one.
+ */
+public class FormationSnapshotStore {
+
+    private static final Logger log = Logger.getLogger(FormationSnapshotStore.class.getName());
+    private static final String FORMAT = "1";
+    private static final String RULE_PREFIX = "rule.";
+
+    public void save(FormationSnapshot snapshot, Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("format", FORMAT);
+        props.setProperty("teamSize", String.valueOf(snapshot.getTeamSize()));
+        props.setProperty("validTeams", String.valueOf(snapshot.getValidTeams()));
+        props.setProperty("skillRange", String.valueOf(snapshot.getSkillRange()));
+        props.setProperty("savedAt", snapshot.getSavedAt().toString());
+        snapshot.getRules().toProperties().forEach((k, v) -> props.setProperty(RULE_PREFIX + k, (String) v));
+
+        List<Team> teams = snapshot.getTeams();
+        props.setProperty("teams", String.valueOf(teams.size()));
+        StringBuilder members = new StringBuilder();
+        for (int t = 0; t < teams.size(); t++) {
+            members.setLength(0);
+            for (Player p : teams.get(t).getMembersSnapshot()) {
+                if (members.length() > 0) members.append('|');
+                members.append(p.getId());
+            }
+            props.setProperty("team." + t + ".name", teams.get(t).getName());
+            props.setProperty("team." + t + ".members", members.toString());
+        }
+
+        Path target = file.toAbsolutePath();
+        Path temp = Paths.get(target + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            props.store(out, "smartTeamMate formation snapshot");
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Formation snapshot saved to " + target + ": " + snapshot);
+    }
+
+    /**
+     * Loads a snapshot and rebuilds its teams from the given players, matched by ID.
+     * Members that are no longer among the players are left out and counted.
+     */
+    public FormationSnapshot load(Path file, Collection<Player> players) throws IOException {
+        Properties props = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(in);
+        }
+        if (!FORMAT.equals(props.getProperty("format"))) {
+            throw new IOException("Unsupported snapshot format in " + file + ": " + props.getProperty("format"));
+        }
+
+        Map<String, Player> byId = new HashMap<>(players.size() * 2);
+        for (Player p : players) byId.put(p.getId(), p);
+
+        Properties ruleProps = new Properties();
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith(RULE_PREFIX)) ruleProps.setProperty(key.substring(RULE_PREFIX.length()), props.getProperty(key));
+        }
+
+        try {
+            int teamCount = Integer.parseInt(required(props, "teams", file));
+            List<Team> teams = new ArrayList<>(teamCount);
+            Set<String> seen = new HashSet<>();
+            int missing = 0;
+            for (int t = 0; t < teamCount; t++) {
+                Team team = new Team(required(props, "team." + t + ".name", file));
+                String members = required(props, "team." + t + ".members", file);
+                for (String id : members.isEmpty() ? new String[0] : members.split("\\|")) {
+                    Player p = byId.get(id);
+                    if (p == null) {
+                        missing++;
+                    } else if (seen.add(id)) {
+                        team.addMember(p);
+                    } else {
+                        throw new IOException("Player " + id + " is in more than one team in " + file);
+                    }
+                }
+                teams.add(team);
+            }
+            if (missing > 0) log.warning(missing + " snapshot members were not found among the players and were left out.");
+
+            FormationSnapshot snapshot = new FormationSnapshot(teams,
+                    Integer.parseInt(required(props, "teamSize", file)),
+                    TeamRules.fromProperties(ruleProps),
+                    Integer.parseInt(required(props, "validTeams", file)),
+                    Double.parseDouble(required(props, "skillRange", file)),
+                    Instant.parse(required(props, "savedAt", file)),
+                    missing);
+            log.info("Formation snapshot loaded from " + file + ": " + snapshot);
+            return snapshot;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IOException("Invalid snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String required(Properties props, String key, Path file) throws IOException {
+        String value = props.getProperty(key);
+        if (value == null) throw new IOException("Snapshot " + file + " is missing " + key);
+        return value;
+    }
+}
@@ -0,0 +1,102 @@
+package smartTeamMate.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Which CSV column holds each player attribute, resolved once per file from its header.
+ *
+ * Header names are compared with case, spaces and punctuation ignored, and a few common
+ * variants are accepted, so both "id,name,...,game,skillLevel" and the participant
+ * export's "ID,Name,...,PreferredGame,SkillLevel" map to the same attributes.
+ */
+public final class PlayerColumns {
+
+    static final int ID = 0;
+    static final int NAME = 1;
+    static final int EMAIL = 2;
+    static final int GAME = 3;
+    static final int SKILL = 4;
+    static final int ROLE = 5;
+    static final int PERSONALITY_SCORE = 6;
+    static final int PERSONALITY = 7;
+    private static final int ATTRIBUTES = 8;
+
+    /** The column order written by PlayerRepository */
+    public static final PlayerColumns DEFAULT = new PlayerColumns(new int[]{0, 1, 2, 3, 4, 5, 6, 7}, 8);
+
+    private static final Map<String, Integer> ALIASES = new HashMap<>();
+
+    static {
+        alias(ID, "id", "playerid");
+        alias(NAME, "name", "playername", "fullname");
+        alias(EMAIL, "email", "emailaddress", "mail");
+        alias(GAME, "game", "preferredgame");
+        alias(SKILL, "skill", "skilllevel");
+        alias(ROLE, "role", "preferredrole");
+        alias(PERSONALITY_SCORE, "personalityscore", "score");
+        alias(PERSONALITY, "personalitytype", "personality", "type");
+    }
+
+    private static void alias(int attribute, String... names) {
+        for (String name : names) ALIASES.put(name, attribute);
+    }
+
+    private final int[] column;
+    private final int width;
+
+    private PlayerColumns(int[] column, int width) {
+        this.column = column;
+        this.width = width;
+    }
+
+    /**
+     * Column mapping for a header record, or null if the header does not name every
+     * attribute (for example when the file has no header line).
+     */
+    public static PlayerColumns fromHeader(CsvRecord header) {
+        int[] column = new int[ATTRIBUTES];
+        Arrays.fill(column, -1);
+        for (int i = 0; i < header.size(); i++) {
+            Integer attribute = ALIASES.get(normalise(header.get(i)));
+            if (attribute != null && column[attribute] < 0) column[attribute] = i;
+        }
+        for (int c : column) {
+            if (c < 0) return null;
+        }
+        return new PlayerColumns(column, header.size());
+    }
+
+    private static String normalise(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    /** Column index of an attribute */
+    int column(int attribute) {
+        return column[attribute];
+    }
+
+    /**
+     * A row in the default column order rearranged into this mapping's columns, e.g. to
+     * append a journal entry to a file with a different header. Unmapped columns stay empty.
+     */
+    public String reorder(CsvRecord row) {
+        String[] fields = new String[width];
+        Arrays.fill(fields, "");
+        for (int attribute = 0; attribute < ATTRIBUTES; attribute++) {
+            fields[column[attribute]] = CsvRecord.quote(row.get(DEFAULT.column(attribute)));
+        }
+        return String.join(",", fields);
+    }
+
+    /** Number of fields every data row must have */
+    public int width() {
+        return width;
+    }
+}
@@ -0,0 +1,346 @@
+package smartTeamMate.repository;
+
+import smartTeamMate.model.Player;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal in front of a player CSV.
+ *
+ * Each saved player is one journal entry: [length][CRC32][UTF-8 CSV line]. An append returns
+ * only once its entry has been forced to disk. Concurrent appenders share one write and
+ * fsync (group commit): the first waiting thread writes everything queued so far while the
+ * others wait for that batch.
+ *
+ * The journal is guarded by {@link FileChannel#lock()}, so several processes can append
+ * safely. A torn entry left by a crash fails its length or checksum check; it is ignored
+ * when reading and cut off before the next append. Once the journal holds compactThreshold
+ * entries it is compacted: the main CSV is rewritten with the journal's players to a temporary
+ * file, forced, moved over the original atomically and only then is the journal emptied.
+ * Players are keyed by id, so an entry already present in the CSV is not added twice if a
+ * crash happens between those two steps.
+ */
+public class PlayerJournal {
+
+    private static final Logger log = Logger.getLogger(PlayerJournal.class.getName());
+    private static final int ENTRY_HEADER = 8;
+
+    /** FileLock is per process, so threads of this JVM also queue on an in-process lock per file */
+    private static final Map<Path, ReentrantLock> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    /** Work done while holding the journal lock */
+    public interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    private final Path csvFile;
+    private final Path journalFile;
+    private final String header;
+    private final int compactThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchDone = lock.newCondition();
+    private Batch open = new Batch();
+    private boolean writing;
+    private int journalEntries;
+    private long knownLength = -1;
+
+    public PlayerJournal(Path csvFile, String header, int compactThreshold) {
+        this.csvFile = csvFile.toAbsolutePath();
+        this.journalFile = Paths.get(this.csvFile + ".journal");
+        this.header = header;
+        this.compactThreshold = compactThreshold;
+        try {
+            journalEntries = readEntries().size();
+        } catch (IOException e) {
+            log.warning("Could not read journal " + journalFile + ": " + e.getMessage());
+        }
+        log.info("Player journal opened: " + journalFile + " (" + journalEntries + " pending entries)");
+    }
+
+    /** Entries queued together and written with a single fsync */
+    private static class Batch {
+        final List<byte[]> entries = new ArrayList<>();
+        boolean done;
+        IOException error;
+    }
+
+    /** Appends the player and returns once the entry is durable */
+    public void append(Player player) throws IOException {
+        appendAll(List.of(player));
+    }
+
+    /** Appends the players, in order, and returns once all of their entries are durable */
+    public void appendAll(List<Player> players) throws IOException {
+        List<byte[]> entries = new ArrayList<>(players.size());
+        for (Player p : players) entries.add(encode(p.toCSV()));
+        lock.lock();
+        try {
+            Batch mine = open;
+            mine.entries.addAll(entries);
+            while (!mine.done) {
+                if (writing) {
+                    batchDone.await();
+                    continue;
+                }
+                // No write in progress, so the open batch is ours: write it and everything queued with it
+                writing = true;
+                Batch batch = open;
+                open = new Batch();
+                lock.unlock();
+                boolean compacted = false;
+                try {
+                    writeBatch(batch.entries);
+                    // The entries are durable now; a failed compaction must not fail the append
+                    if (journalEntries + batch.entries.size() >= compactThreshold) compacted = tryCompact();
+                } catch (IOException e) {
+                    batch.error = e;
+                } catch (RuntimeException e) {
+                    // waiters must still be released, whatever went wrong
+                    batch.error = new IOException(e);
+                } finally {
+                    lock.lock();
+                }
+                if (batch.error == null) journalEntries = compacted ? 0 : journalEntries + batch.entries.size();
+                batch.done = true;
+                writing = false;
+                batchDone.signalAll();
+            }
+            if (mine.error != null) {
+                throw new IOException("Journal write failed for " + players.size() + " player(s)", mine.error);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for journal commit");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Folds the journal into the main CSV now */
+    public void compact() throws IOException {
+        lock.lock();
+        try {
+            while (writing) batchDone.awaitUninterruptibly();
+            writing = true;
+        } finally {
+            lock.unlock();
+        }
+        boolean compacted = false;
+        try {
+            compactFiles();
+            compacted = true;
+        } finally {
+            lock.lock();
+            if (compacted) journalEntries = 0;
+            writing = false;
+            batchDone.signalAll();
+            lock.unlock();
+        }
+    }
+
+    /** Runs the action while holding the journal lock, e.g. to read the CSV and journal consistently */
+    public <T> T whileLocked(LockedAction<T> action) throws IOException {
+        ReentrantLock processLock = FILE_LOCKS.computeIfAbsent(journalFile, p -> new ReentrantLock());
+        processLock.lock();
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock fileLock = channel.lock();
+            try {
+                return action.run();
+            } finally {
+                fileLock.release();
+            }
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * Compacts after an append reached the threshold. A failure is only logged: the entries
+     * stay in the journal and the next append past the threshold tries again.
+     */
+    private boolean tryCompact() {
+        try {
+            compactFiles();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, "Journal compaction failed; it will be retried after the next append", e);
+            return false;
+        }
+    }
+
+    /** Players recorded in the journal, oldest first; a torn or corrupt tail is ignored */
+    public List<Player> readPlayers() throws IOException {
+        List<Player> players = new ArrayList<>();
+        for (String line : readEntries()) {
+            Player p = PlayerLineParser.parse(line);
+            if (p != null) players.add(p);
+        }
+        return players;
+    }
+
+    /** Id of the newest journal entry, or null if the journal is empty */
+    public String lastPlayerId() throws IOException {
+        List<Player> players = readPlayers();
+        return players.isEmpty() ? null : players.get(players.size() - 1).getId();
+    }
+
+    // ---------- file work ----------
+
+    private void writeBatch(List<byte[]> entries) throws IOException {
+        int total = 0;
+        for (byte[] e : entries) total += e.length;
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (byte[] e : entries) buffer.put(e);
+        buffer.flip();
+
+        whileLocked(() -> {
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                // Another process may have appended or compacted, or a crash left a torn entry
+                if (channel.size() != knownLength) {
+                    long valid = validLength(channel);
+                    if (valid < channel.size()) {
+                        log.warning("Truncating torn journal tail at byte " + valid + " in " + journalFile);
+                        channel.truncate(valid);
+                    }
+                }
+                channel.position(channel.size());
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+                knownLength = channel.size();
+            }
+            return null;
+        });
+        log.fine("Journal committed " + entries.size() + " entries in one fsync");
+    }
+
+    private void compactFiles() throws IOException {
+        whileLocked(() -> {
+            List<String> entries = readEntries();
+            if (entries.isEmpty()) return null;
+
+            Set<String> ids = new HashSet<>();
+            Path temp = Paths.get(csvFile + ".compact");
+            boolean needsNewline = false;
+            // Journal entries are in the default column order; the CSV may have its own header
+            PlayerColumns columns = PlayerColumns.DEFAULT;
+            if (Files.exists(csvFile)) {
+                // Existing rows are copied byte for byte
+                Files.copy(csvFile, temp, StandardCopyOption.REPLACE_EXISTING);
+                needsNewline = !endsWithNewline(temp);
+                try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(csvFile, StandardCharsets.UTF_8))) {
+                    CsvRecord headerRecord = reader.next();
+                    PlayerColumns mapped = headerRecord == null ? null : PlayerColumns.fromHeader(headerRecord);
+                    if (mapped != null) columns = mapped;
+                    int idColumn = columns.column(PlayerColumns.ID);
+                    CsvRecord record;
+                    while ((record = reader.next()) != null) {
+                        if (idColumn < record.size()) ids.add(record.get(idColumn).trim());
+                    }
+                }
+            } else {
+                Files.writeString(temp, header + System.lineSeparator(), StandardCharsets.UTF_8);
+            }
+
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+                if (needsNewline) out.newLine();
+                for (String entry : entries) {
+                    CsvRecord record = CsvRecord.parse(entry);
+                    if (record != null && ids.add(record.get(0).trim())) {
+                        out.write(columns == PlayerColumns.DEFAULT ? entry : columns.reorder(record));
+                        out.newLine();
+                    }
+                }
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, csvFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+                channel.force(false);
+                knownLength = 0;
+            }
+            log.info("Compacted " + entries.size() + " journal entries into " + csvFile);
+            return null;
+        });
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) return true;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    /** CSV lines of the valid journal entries */
+    private List<String> readEntries() throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(journalFile)) return lines;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            while (true) {
+                byte[] payload = readEntry(in);
+                if (payload == null) break;
+                lines.add(new String(payload, StandardCharsets.UTF_8));
+            }
+        }
+        return lines;
+    }
+
+    /** Length of the journal prefix made of complete, intact entries */
+    private static long validLength(FileChannel channel) throws IOException {
+        channel.position(0);
+        long valid = 0;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        byte[] payload;
+        while ((payload = readEntry(in)) != null) valid += ENTRY_HEADER + payload.length;
+        return valid;
+    }
+
+    /** Next entry's payload, or null at the end or at a torn or corrupt entry */
+    private static byte[] readEntry(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int crc = in.readInt();
+            if (length < 0 || length > 1 << 20) return null;
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            return checksum(payload) == crc ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static byte[] encode(String line) {
+        byte[] payload = line.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(ENTRY_HEADER + payload.length)
+                .putInt(payload.length)
+                .putInt(checksum(payload))
+                .put(payload)
+                .array();
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,77 @@
+package smartTeamMate.repository;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.util.EnumLookup;
+
+/**
+ * Parses one participant CSV row into a Player, with the columns located through
+ * {@link PlayerColumns} and the fields through {@link CsvRecord}.
+ *
+ * Integers are read digit by digit from the record text, and the enum columns are resolved
+ * through {@link EnumLookup} tables that match case-insensitively while skipping whitespace
+ * and colons ("CS:GO", "Dota 2"), so apart from the record, the three text fields and the
+ * Player nothing is allocated per row. Malformed rows return null rather than throwing.
+ */
+public final class PlayerLineParser {
+
+    private static final int INVALID = Integer.MIN_VALUE;
+
+    private static final EnumLookup<Game> GAMES = new EnumLookup<>(Game.values());
+    private static final EnumLookup<Role> ROLES = new EnumLookup<>(Role.values());
+    private static final EnumLookup<Personality> PERSONALITIES = new EnumLookup<>(Personality.values());
+
+    private PlayerLineParser() {
+    }
+
+    /** The player on a line in the default column order, or null if the row is malformed */
+    public static Player parse(String line) {
+        CsvRecord record = CsvRecord.parse(line);
+        return record == null ? null : parse(record, PlayerColumns.DEFAULT);
+    }
+
+    /** The player in a record, or null if the row is malformed */
+    public static Player parse(CsvRecord record, PlayerColumns columns) {
+        if (record.size() != columns.width()) return null;
+        String text = record.text();
+
+        int c = columns.column(PlayerColumns.GAME);
+        Game game = GAMES.find(text, record.start(c), record.end(c));
+        c = columns.column(PlayerColumns.SKILL);
+        int skill = parseInt(text, record.start(c), record.end(c));
+        c = columns.column(PlayerColumns.ROLE);
+        Role role = ROLES.find(text, record.start(c), record.end(c));
+        c = columns.column(PlayerColumns.PERSONALITY_SCORE);
+        int personalityScore = parseInt(text, record.start(c), record.end(c));
+        c = columns.column(PlayerColumns.PERSONALITY);
+        Personality personality = PERSONALITIES.find(text, record.start(c), record.end(c));
+        if (game == null || role == null || personality == null || skill == INVALID || personalityScore == INVALID) {
+            return null;
+        }
+
+        return new Player(record.get(columns.column(PlayerColumns.NAME)),
+                record.get(columns.column(PlayerColumns.ID)),
+                record.get(columns.column(PlayerColumns.EMAIL)),
+                game, skill, role, personalityScore, personality);
+    }
+
+    /** Decimal integer in [from, to), surrounding spaces allowed; INVALID if not a number */
+    static int parseInt(CharSequence s, int from, int to) {
+        while (from < to && s.charAt(from) == ' ') from++;
+        while (to > from && s.charAt(to - 1) == ' ') to--;
+        boolean negative = from < to && s.charAt(from) == '-';
+        if (negative) from++;
+        // at most 9 digits, so the value cannot overflow
+        if (from == to || to - from > 9) return INVALID;
+
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return INVALID;
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
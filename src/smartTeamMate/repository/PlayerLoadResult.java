@@ -0,0 +1,41 @@
+package smartTeamMate.repository;
+
+import smartTeamMate.model.Player;
+
+import java.util.List;
+
+/**
+ * Players read from a CSV file, in file order, with a count of the rows that were skipped.
+ */
+public class PlayerLoadResult {
+
+    private final List<Player> players;
+    private final int malformedRows;
+    private final long firstMalformedLine;
+
+    public PlayerLoadResult(List<Player> players, int malformedRows, long firstMalformedLine) {
+        this.players = players;
+        this.malformedRows = malformedRows;
+        this.firstMalformedLine = firstMalformedLine;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public int getMalformedRows() {
+        return malformedRows;
+    }
+
+    /** Line number of the first skipped row, or -1 if none was skipped */
+    public long getFirstMalformedLine() {
+        return firstMalformedLine;
+    }
+
+    @Override
+    public String toString() {
+        return players.size() + " players loaded"
+                + (malformedRows == 0 ? "" : ", " + malformedRows + " malformed rows skipped (first at line "
+                + firstMalformedLine + ")");
+    }
+}
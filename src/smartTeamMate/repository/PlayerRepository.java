@@ -1,60 +1,120 @@
 package smartTeamMate.repository;
 
 import smartTeamMate.model.Player;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class PlayerRepository {
 
+    private static final int JOURNAL_COMPACT_THRESHOLD = 500;
+
     private final CSVhandler csv;
+    private final PlayerJournal journal;
     private final String header = "id,name,email,game,skillLevel,role,personalityScore,personalityType";
     private static final Logger log = Logger.getLogger(PlayerRepository.class.getName());
 
     public PlayerRepository(String filePath) {
         this.csv = new CSVhandler(filePath, header);
+        this.journal = new PlayerJournal(Path.of(filePath), header, JOURNAL_COMPACT_THRESHOLD);
         log.info("PlayerRepository initialized for file: " + filePath);
     }
 
     // Generate next player ID
     public String generateNextId() {
+        return generateNextIds(1).get(0);
+    }
+
+    // Generate the next count player IDs in sequence
+    public List<String> generateNextIds(int count) {
+        int idNumber;
         try {
-            String lastId = csv.getLastPlayerID();
+            String lastId = journal.lastPlayerId();
+            if (lastId == null) lastId = csv.getLastPlayerID();
 
-            if (!lastId.matches("P\\d{3}")) {
+            if (lastId.matches("P\\d{3,}")) {
+                idNumber = Integer.parseInt(lastId.substring(1));
+            } else {
                 log.warning("Invalid ID format detected in CSV: " + lastId + ". Resetting to P000.");
-                return "P001";
+                idNumber = 0;
             }
-
-            int idNumber = Integer.parseInt(lastId.substring(1));
-            idNumber++;
-
-            String newId = String.format("P%03d", idNumber);
-            log.info("Generated next Player ID: " + newId);
-
-            return newId;
-
         } catch (Exception e) {
             log.log(Level.SEVERE, "Error generating next player ID", e);
-            return "P001"; // fallback to default
+            idNumber = 0; // fallback to default
+        }
+
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ids.add(String.format("P%03d", idNumber + i));
         }
+        log.info("Generated next Player ID" + (count == 1 ? ": " : "s: ") + ids.get(0)
+                + (count > 1 ? " to " + ids.get(count - 1) : ""));
+        return ids;
     }
 
-    // Save a single player
+    // Save a single player; it is durable in the journal when this returns
     public void savePlayer(Player player) {
         try {
-            csv.savePlayer(player);
+            journal.append(player);
             log.info("Player saved successfully (ID: " + player.getId() + ")");
         } catch (Exception e) {
             log.log(Level.SEVERE, "Failed to save player (ID: " + player.getId() + ")", e);
         }
     }
 
+    // Save many players with a single journal commit; returns false if the write failed
+    public boolean saveAll(List<Player> players) {
+        try {
+            journal.appendAll(players);
+            log.info("Saved " + players.size() + " players in one batch");
+            return true;
+        } catch (Exception e) {
+            log.log(Level.SEVERE, "Failed to save batch of " + players.size() + " players", e);
+            return false;
+        }
+    }
+
     // Load all players
     public List<Player> findAll() {
+        return findAll(p -> { });
+    }
+
+    // Load all players (CSV, then journal entries not yet compacted), passing each one to the listener
+    public List<Player> findAll(Consumer<Player> listener) {
         log.info("Loading all players from CSV...");
-        List<Player> players = csv.getPlayers();
-        log.info("Loaded " + players.size() + " players successfully.");
-        return players;
+        try {
+            List<Player> players = journal.whileLocked(() -> {
+                List<Player> loaded = csv.getPlayers(listener);
+                Set<String> ids = new HashSet<>();
+                loaded.forEach(p -> ids.add(p.getId()));
+                for (Player p : journal.readPlayers()) {
+                    if (ids.add(p.getId())) {
+                        loaded.add(p);
+                        listener.accept(p);
+                    }
+                }
+                return loaded;
+            });
+            log.info("Loaded " + players.size() + " players successfully.");
+            return players;
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to read player journal", e);
+            throw new RuntimeException("Failed to read players", e);
+        }
+    }
+
+    // Fold journaled players into the CSV file
+    public void compact() {
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to compact player journal", e);
+        }
     }
 }
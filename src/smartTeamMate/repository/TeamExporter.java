@@ -0,0 +1,247 @@
+package smartTeamMate.repository;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.model.Team;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Streams team formations to files in several formats in a single pass over the teams.
+ *
+ * Each team's personality, role and game counts and skill total are computed once per
+ * team and shared by every format, and each target file is written through one large
+ * buffered writer on a FileChannel, so exporting many teams costs little beyond the I/O.
+ */
+public class TeamExporter {
+
+    public enum Format {
+        /** One row per team: the summary written by TeamRepository */
+        SUMMARY_CSV("Team_Name, Team_Size, Skill_Avg, Leader_count, Thinker_count, Balanced_count, Role_Summary, Game_Summary,Members"),
+        /** One JSON object per line per team */
+        JSON_LINES(null),
+        /** One row per member with the member's team */
+        ASSIGNMENTS_CSV("team,id,name,email,game,skillLevel,role,personalityScore,personalityType");
+
+        private final String header;
+
+        Format(String header) {
+            this.header = header;
+        }
+
+        /** CSV header line, or null for formats without one */
+        public String getHeader() {
+            return header;
+        }
+    }
+
+    private static final Logger log = Logger.getLogger(TeamExporter.class.getName());
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Writes the teams to every target, replacing existing files */
+    public void export(List<Team> teams, Map<Format, Path> targets) throws IOException {
+        write(teams, targets, false);
+    }
+
+    /** Appends the teams to one file, writing the header only if the file is empty */
+    public void append(List<Team> teams, Format format, Path target) throws IOException {
+        write(teams, Map.of(format, target), true);
+    }
+
+    /** Appends the teams to every target, writing each header only if its file is empty */
+    public void append(List<Team> teams, Map<Format, Path> targets) throws IOException {
+        write(teams, targets, true);
+    }
+
+    private void write(List<Team> teams, Map<Format, Path> targets, boolean append) throws IOException {
+        Map<Format, Writer> writers = new EnumMap<>(Format.class);
+        try {
+            for (Map.Entry<Format, Path> e : targets.entrySet()) {
+                FileChannel channel = append
+                        ? FileChannel.open(e.getValue(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                        : FileChannel.open(e.getValue(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                boolean empty = channel.size() == 0;
+                Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+                writers.put(e.getKey(), out);
+                if (empty && e.getKey().header != null) {
+                    out.write(e.getKey().header);
+                    out.write('\n');
+                }
+            }
+
+            StringBuilder line = new StringBuilder(256);
+            for (Team team : teams) {
+                Aggregate a = new Aggregate(team);
+                for (Map.Entry<Format, Writer> e : writers.entrySet()) {
+                    line.setLength(0);
+                    switch (e.getKey()) {
+                        case SUMMARY_CSV -> summary(line, a);
+                        case JSON_LINES -> json(line, a);
+                        case ASSIGNMENTS_CSV -> assignments(line, a);
+                    }
+                    e.getValue().append(line);
+                }
+            }
+        } finally {
+            IOException failure = null;
+            for (Writer w : writers.values()) {
+                try {
+                    w.close();
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                }
+            }
+            if (failure != null) throw failure;
+        }
+        log.info("Exported " + teams.size() + " teams as " + targets.keySet());
+    }
+
+    /** Counts of one team, gathered in a single pass over its members */
+    private static class Aggregate {
+        final Team team;
+        final List<Player> members;
+        final int[] personalities = new int[Personality.values().length];
+        final int[] roles = new int[Role.values().length];
+        final int[] games = new int[Game.values().length];
+        int skillSum;
+
+        Aggregate(Team team) {
+            this.team = team;
+            this.members = team.getMembersSnapshot();
+            for (Player p : members) {
+                personalities[p.getPersonality().ordinal()]++;
+                roles[p.getPreferredRole().ordinal()]++;
+                games[p.getPreferredGame().ordinal()]++;
+                skillSum += p.getSkillLevel();
+            }
+        }
+
+        float skillAverage() {
+            // same rounding as Team.getTotalSkillAvg
+            return members.isEmpty() ? 0f : (float) skillSum / members.size();
+        }
+    }
+
+    // ---------- formats ----------
+
+    private static void summary(StringBuilder sb, Aggregate a) {
+        sb.append(csv(a.team.getName())).append(',')
+                .append(a.members.size()).append(',')
+                .append(String.format("%.2f", a.skillAverage())).append(',')
+                .append(a.personalities[Personality.LEADER.ordinal()]).append(',')
+                .append(a.personalities[Personality.THINKER.ordinal()]).append(',')
+                .append(a.personalities[Personality.BALANCED.ordinal()]).append(',');
+        counts(sb, Role.values(), a.roles, ":", "|");
+        sb.append(',');
+        counts(sb, Game.values(), a.games, ":", "|");
+        sb.append(',');
+        for (int i = 0; i < a.members.size(); i++) {
+            if (i > 0) sb.append('|');
+            sb.append(a.members.get(i).getId());
+        }
+        sb.append('\n');
+    }
+
+    private static void json(StringBuilder sb, Aggregate a) {
+        sb.append("{\"team\":");
+        jsonString(sb, a.team.getName());
+        sb.append(",\"size\":").append(a.members.size())
+                .append(",\"skillAverage\":").append(String.format(Locale.ROOT, "%.2f", a.skillAverage()))
+                .append(",\"personalities\":{");
+        Personality[] personalities = Personality.values();
+        for (int i = 0; i < personalities.length; i++) {
+            if (i > 0) sb.append(',');
+            jsonString(sb, personalities[i].getDisplayName());
+            sb.append(':').append(a.personalities[i]);
+        }
+        sb.append("},\"roles\":{");
+        jsonCounts(sb, Role.values(), a.roles);
+        sb.append("},\"games\":{");
+        jsonCounts(sb, Game.values(), a.games);
+        sb.append("},\"members\":[");
+        for (int i = 0; i < a.members.size(); i++) {
+            if (i > 0) sb.append(',');
+            jsonString(sb, a.members.get(i).getId());
+        }
+        sb.append("]}\n");
+    }
+
+    private static void assignments(StringBuilder sb, Aggregate a) {
+        String team = csv(a.team.getName());
+        for (Player p : a.members) {
+            sb.append(team).append(',')
+                    .append(csv(p.getId())).append(',')
+                    .append(csv(p.getName())).append(',')
+                    .append(csv(p.getEmail())).append(',')
+                    .append(p.getPreferredGame().name()).append(',')
+                    .append(p.getSkillLevel()).append(',')
+                    .append(p.getPreferredRole().name()).append(',')
+                    .append(p.getPersonalityScore()).append(',')
+                    .append(p.getPersonality().getDisplayName()).append('\n');
+        }
+    }
+
+    /** Non-zero counts as NAME:count joined by the separator, in enum order */
+    private static void counts(StringBuilder sb, Enum<?>[] keys, int[] counts, String pair, String separator) {
+        boolean first = true;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] == 0) continue;
+            if (!first) sb.append(separator);
+            first = false;
+            sb.append(keys[i].name()).append(pair).append(counts[i]);
+        }
+    }
+
+    /** Non-zero counts as JSON members "NAME":count, in enum order */
+    private static void jsonCounts(StringBuilder sb, Enum<?>[] keys, int[] counts) {
+        boolean first = true;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] == 0) continue;
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(keys[i].name()).append("\":").append(counts[i]);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void jsonString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
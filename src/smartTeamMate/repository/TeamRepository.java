@@ -2,16 +2,24 @@ package smartTeamMate.repository;
 
 import smartTeamMate.model.Team;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class TeamRepository {
-    private final String header = "Team_Name, Team_Size, Skill_Avg, Leader_count, Thinker_count, Balanced_count, Role_Summary, Game_Summary,Members";
+    private final String header = TeamExporter.Format.SUMMARY_CSV.getHeader();
     private final CSVhandler csv;
+    private final Path file;
+    private final TeamExporter exporter = new TeamExporter();
     private static final Logger log = Logger.getLogger(TeamRepository.class.getName());
 
     public TeamRepository(String filename) {
         this.csv = new CSVhandler(filename,header);
+        this.file = Path.of(filename);
     }
 
     public void saveTeam(Team team) {
@@ -19,10 +27,33 @@ public class TeamRepository {
         log.info("Team saved "+team.getName());
     }
 
+    // Append the teams' summary rows through one buffered writer
     public void saveAllTeams(List<Team> teams) {
-        for (Team team : teams) {
-            saveTeam(team);
+        try {
+            exporter.append(teams, TeamExporter.Format.SUMMARY_CSV, file);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to write teams to " + file, e);
+            throw new RuntimeException("Failed to write teams", e);
         }
         log.info("Saved " + teams.size() + " teams");
     }
+
+    /**
+     * Appends the teams to the summary file and to &lt;name&gt;.jsonl and &lt;name&gt;_assignments.csv
+     * next to it, all in one pass over the teams. Teams saved earlier are kept, as with saveAllTeams.
+     */
+    public void exportAll(List<Team> teams) {
+        String base = file.getFileName().toString().replaceFirst("(?i)\\.csv$", "");
+        Map<TeamExporter.Format, Path> targets = new EnumMap<>(TeamExporter.Format.class);
+        targets.put(TeamExporter.Format.SUMMARY_CSV, file);
+        targets.put(TeamExporter.Format.JSON_LINES, file.resolveSibling(base + ".jsonl"));
+        targets.put(TeamExporter.Format.ASSIGNMENTS_CSV, file.resolveSibling(base + "_assignments.csv"));
+        try {
+            exporter.append(teams, targets);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to export teams to " + targets.values(), e);
+            throw new RuntimeException("Failed to export teams", e);
+        }
+        log.info("Exported " + teams.size() + " teams to " + targets.values());
+    }
 }
@@ -0,0 +1,200 @@
+package smartTeamMate.rules;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TeamRules flattened into parallel arrays of primitive checks over a team counter vector.
+ *
+ * A team is summarised as an int[] of {@link #WIDTH} counters: one per personality, game
+ * and role, then the number of distinct roles, the team size and the skill sum. Every rule
+ * becomes one (operator, counter, bound) row, so validation is a single loop over small
+ * arrays however many constraints are configured, and counters can be updated in place
+ * when a player joins or leaves instead of being recounted.
+ */
+public final class CompiledRules {
+
+    /** Which rule a compiled check came from; TeamEvaluator maps these to TeamIssues flags */
+    public enum Violation {
+        TOO_MANY_LEADERS("Too many leaders"),
+        NOT_ENOUGH_LEADERS("Not enough leaders"),
+        TOO_MANY_THINKERS("Too many thinkers"),
+        NOT_ENOUGH_THINKERS("Not enough thinkers"),
+        GAME_OVERFLOW("Game overflow"),
+        GAME_MINIMUM("Game minimum not met"),
+        ROLE_CAP("Role cap exceeded"),
+        LOW_ROLE_DIVERSITY("Role diversity too low"),
+        SKILL_FLOOR("Skill average below floor");
+
+        private final String description;
+
+        Violation(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public static final int PERSONALITY_OFFSET = 0;
+    public static final int GAME_OFFSET = PERSONALITY_OFFSET + Personality.values().length;
+    public static final int ROLE_OFFSET = GAME_OFFSET + Game.values().length;
+    public static final int DISTINCT_ROLES = ROLE_OFFSET + Role.values().length;
+    public static final int SIZE = DISTINCT_ROLES + 1;
+    public static final int SKILL_SUM = SIZE + 1;
+    public static final int WIDTH = SKILL_SUM + 1;
+
+    private static final byte OP_MIN = 0;       // counter >= bound
+    private static final byte OP_MAX = 1;       // counter <= bound
+    private static final byte OP_AVG_MIN = 2;   // skill sum * 100 >= bound * size (bound in hundredths)
+
+    private final byte[] op;
+    private final int[] counter;
+    private final int[] bound;
+    private final Violation[] violation;
+    private final String[] subject;
+
+    CompiledRules(TeamRules rules) {
+        List<Check> rows = new ArrayList<>();
+        int leader = PERSONALITY_OFFSET + Personality.LEADER.ordinal();
+        int thinker = PERSONALITY_OFFSET + Personality.THINKER.ordinal();
+
+        rows.add(new Check(OP_MAX, leader, rules.getMaxLeaders(), Violation.TOO_MANY_LEADERS, null));
+        rows.add(new Check(OP_MAX, thinker, rules.getMaxThinkers(), Violation.TOO_MANY_THINKERS, null));
+        rows.add(new Check(OP_MIN, leader, rules.getMinLeaders(), Violation.NOT_ENOUGH_LEADERS, null));
+        rows.add(new Check(OP_MIN, thinker, rules.getMinThinkers(), Violation.NOT_ENOUGH_THINKERS, null));
+        for (Game g : Game.values()) {
+            rows.add(new Check(OP_MAX, GAME_OFFSET + g.ordinal(), rules.getGameCap(), Violation.GAME_OVERFLOW, g.name()));
+        }
+        for (Map.Entry<Game, Integer> e : rules.getGameMinimums().entrySet()) {
+            rows.add(new Check(OP_MIN, GAME_OFFSET + e.getKey().ordinal(), e.getValue(), Violation.GAME_MINIMUM, e.getKey().name()));
+        }
+        for (Map.Entry<Role, Integer> e : rules.getRoleCaps().entrySet()) {
+            rows.add(new Check(OP_MAX, ROLE_OFFSET + e.getKey().ordinal(), e.getValue(), Violation.ROLE_CAP, e.getKey().name()));
+        }
+        rows.add(new Check(OP_MIN, DISTINCT_ROLES, rules.getMinRoles(), Violation.LOW_ROLE_DIVERSITY, null));
+        if (rules.getMinAverageSkill() > 0) {
+            // round, not ceil: 4.15 * 100 is 415.00000000000006 in binary floating point
+            rows.add(new Check(OP_AVG_MIN, SKILL_SUM, (int) Math.round(rules.getMinAverageSkill() * 100),
+                    Violation.SKILL_FLOOR, null));
+        }
+
+        int n = rows.size();
+        this.op = new byte[n];
+        this.counter = new int[n];
+        this.bound = new int[n];
+        this.violation = new Violation[n];
+        this.subject = new String[n];
+        for (int i = 0; i < n; i++) {
+            Check c = rows.get(i);
+            op[i] = c.op;
+            counter[i] = c.counter;
+            bound[i] = c.bound;
+            violation[i] = c.violation;
+            subject[i] = c.subject;
+        }
+    }
+
+    /** One rule before flattening */
+    private static class Check {
+        final byte op;
+        final int counter;
+        final int bound;
+        final Violation violation;
+        final String subject;
+
+        Check(byte op, int counter, int bound, Violation violation, String subject) {
+            this.op = op;
+            this.counter = counter;
+            this.bound = bound;
+            this.violation = violation;
+            this.subject = subject;
+        }
+    }
+
+    /** Number of compiled checks */
+    public int size() {
+        return op.length;
+    }
+
+    /** True if the counters pass every check */
+    public boolean test(int[] counters) {
+        for (int i = 0; i < op.length; i++) {
+            if (!passes(i, counters)) return false;
+        }
+        return true;
+    }
+
+    /** Whether compiled check i passes for the counters */
+    public boolean passes(int i, int[] counters) {
+        int value = counters[counter[i]];
+        switch (op[i]) {
+            case OP_MIN:
+                return value >= bound[i];
+            case OP_MAX:
+                return value <= bound[i];
+            default:
+                return (long) value * 100 >= (long) bound[i] * counters[SIZE];
+        }
+    }
+
+    public Violation violation(int i) {
+        return violation[i];
+    }
+
+    /** Human readable description of a failed check, e.g. "Game overflow: CSGO (3)" */
+    public String describe(int i, int[] counters) {
+        String value = op[i] == OP_AVG_MIN
+                ? String.format("%.2f", counters[SIZE] == 0 ? 0.0 : counters[SKILL_SUM] / (double) counters[SIZE])
+                : String.valueOf(counters[counter[i]]);
+        String text = violation[i].getDescription();
+        return (subject[i] == null ? text : text + ": " + subject[i]) + " (" + value + ")";
+    }
+
+    // ---------- counter vectors ----------
+
+    public static int[] newCounters() {
+        return new int[WIDTH];
+    }
+
+    public static int[] count(Collection<Player> players) {
+        int[] counters = newCounters();
+        for (Player p : players) add(counters, p);
+        return counters;
+    }
+
+    public static void add(int[] counters, Player p) {
+        add(counters, p.getPersonality().ordinal(), p.getPreferredGame().ordinal(),
+                p.getPreferredRole().ordinal(), p.getSkillLevel());
+    }
+
+    public static void remove(int[] counters, Player p) {
+        remove(counters, p.getPersonality().ordinal(), p.getPreferredGame().ordinal(),
+                p.getPreferredRole().ordinal(), p.getSkillLevel());
+    }
+
+    /** Adds a player given as personality, game and role ordinals and skill, e.g. from a PlayerTable row */
+    public static void add(int[] counters, int personality, int game, int role, int skill) {
+        counters[PERSONALITY_OFFSET + personality]++;
+        counters[GAME_OFFSET + game]++;
+        if (counters[ROLE_OFFSET + role]++ == 0) counters[DISTINCT_ROLES]++;
+        counters[SIZE]++;
+        counters[SKILL_SUM] += skill;
+    }
+
+    public static void remove(int[] counters, int personality, int game, int role, int skill) {
+        counters[PERSONALITY_OFFSET + personality]--;
+        counters[GAME_OFFSET + game]--;
+        if (--counters[ROLE_OFFSET + role] == 0) counters[DISTINCT_ROLES]--;
+        counters[SIZE]--;
+        counters[SKILL_SUM] -= skill;
+    }
+}
@@ -1,12 +1,28 @@
 package smartTeamMate.rules;
 
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Role;
 import smartTeamMate.repository.TeamRepository;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
 import java.util.logging.Logger;
 
 /**
  * Immutable configuration class for team formation rules
  * Demonstrates OOP: Encapsulation + Immutability
+ *
+ * Besides the standard personality, game and role limits, a rule set may cap individual
+ * roles, require a minimum number of players per game and set a floor on the team's
+ * average skill. Rules are compiled once into {@link CompiledRules} for the validators.
  */
 public class TeamRules {
 
@@ -16,21 +32,181 @@ public class TeamRules {
     private final int maxThinkers;
     private final int minLeaders;
     private final int minThinkers;
+    private final Map<Role, Integer> roleCaps;
+    private final Map<Game, Integer> gameMinimums;
+    private final double minAverageSkill;
+    private final CompiledRules compiled;
     private static final Logger log = Logger.getLogger(TeamRules.class.getName());
 
     /**
      * Default constructor with standard gaming tournament rules
      */
     public TeamRules() {
-        this.gameCap = 2;        // Max 2 players per game preference
-        this.minRoles = 3;       // At least 3 different roles
-        this.maxLeaders = 1;     // Exactly 1 leader
-        this.maxThinkers = 2;    // Max 2 thinkers
-        this.minLeaders = 1;     // At least 1 leader
-        this.minThinkers = 1;    // At least 1 thinker
+        this(2,     // Max 2 players per game preference
+             3,     // At least 3 different roles
+             1,     // Exactly 1 leader
+             2,     // Max 2 thinkers
+             1,     // At least 1 leader
+             1);    // At least 1 thinker
         log.info("Team Formation Rules initialized with default constraints" );
     }
 
+    public TeamRules(int gameCap, int minRoles, int maxLeaders, int maxThinkers, int minLeaders, int minThinkers) {
+        this(gameCap, minRoles, maxLeaders, maxThinkers, minLeaders, minThinkers, Map.of(), Map.of(), 0.0);
+    }
+
+    /**
+     * @param roleCaps        maximum players per role; roles not listed are uncapped
+     * @param gameMinimums    minimum players per game; games not listed have no minimum
+     * @param minAverageSkill floor on the team's average skill, 0 to disable
+     */
+    public TeamRules(int gameCap, int minRoles, int maxLeaders, int maxThinkers, int minLeaders, int minThinkers,
+                     Map<Role, Integer> roleCaps, Map<Game, Integer> gameMinimums, double minAverageSkill) {
+        requireNonNegative("gameCap", gameCap);
+        requireNonNegative("minRoles", minRoles);
+        requireNonNegative("minLeaders", minLeaders);
+        requireNonNegative("minThinkers", minThinkers);
+        if (maxLeaders < minLeaders) {
+            throw new IllegalArgumentException("maxLeaders (" + maxLeaders + ") is below minLeaders (" + minLeaders + ")");
+        }
+        if (maxThinkers < minThinkers) {
+            throw new IllegalArgumentException("maxThinkers (" + maxThinkers + ") is below minThinkers (" + minThinkers + ")");
+        }
+        if (minAverageSkill < 0) {
+            throw new IllegalArgumentException("minAverageSkill must not be negative: " + minAverageSkill);
+        }
+        roleCaps.forEach((role, cap) -> requireNonNegative("roleCap." + role, cap));
+        gameMinimums.forEach((game, min) -> requireNonNegative("gameMin." + game, min));
+
+        this.gameCap = gameCap;
+        this.minRoles = minRoles;
+        this.maxLeaders = maxLeaders;
+        this.maxThinkers = maxThinkers;
+        this.minLeaders = minLeaders;
+        this.minThinkers = minThinkers;
+        this.roleCaps = Collections.unmodifiableMap(copy(roleCaps, Role.class));
+        this.gameMinimums = Collections.unmodifiableMap(copy(gameMinimums, Game.class));
+        this.minAverageSkill = minAverageSkill;
+        this.compiled = new CompiledRules(this);
+    }
+
+    /**
+     * Reads rules from properties; missing keys keep the default rules.
+     *
+     * Keys: gameCap, minRoles, minLeaders, maxLeaders, minThinkers, maxThinkers,
+     * minAverageSkill, roleCap.&lt;ROLE&gt; and gameMin.&lt;GAME&gt;.
+     */
+    public static TeamRules fromProperties(Properties props) {
+        Map<Role, Integer> roleCaps = new EnumMap<>(Role.class);
+        Map<Game, Integer> gameMinimums = new EnumMap<>(Game.class);
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("roleCap.")) {
+                roleCaps.put(parseEnum(Role.class, key.substring("roleCap.".length())), intValue(props, key, 0));
+            } else if (key.startsWith("gameMin.")) {
+                gameMinimums.put(parseEnum(Game.class, key.substring("gameMin.".length())), intValue(props, key, 0));
+            }
+        }
+
+        double minAverageSkill;
+        try {
+            minAverageSkill = Double.parseDouble(props.getProperty("minAverageSkill", "0").trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for minAverageSkill: " + props.getProperty("minAverageSkill"));
+        }
+
+        return new TeamRules(
+                intValue(props, "gameCap", 2),
+                intValue(props, "minRoles", 3),
+                intValue(props, "maxLeaders", 1),
+                intValue(props, "maxThinkers", 2),
+                intValue(props, "minLeaders", 1),
+                intValue(props, "minThinkers", 1),
+                roleCaps, gameMinimums, minAverageSkill);
+    }
+
+    /**
+     * The rules as properties, in the keys read by {@link #fromProperties}.
+     */
+    public Properties toProperties() {
+        Properties props = new Properties();
+        props.setProperty("gameCap", String.valueOf(gameCap));
+        props.setProperty("minRoles", String.valueOf(minRoles));
+        props.setProperty("minLeaders", String.valueOf(minLeaders));
+        props.setProperty("maxLeaders", String.valueOf(maxLeaders));
+        props.setProperty("minThinkers", String.valueOf(minThinkers));
+        props.setProperty("maxThinkers", String.valueOf(maxThinkers));
+        props.setProperty("minAverageSkill", String.valueOf(minAverageSkill));
+        roleCaps.forEach((role, cap) -> props.setProperty("roleCap." + role.name(), String.valueOf(cap)));
+        gameMinimums.forEach((game, min) -> props.setProperty("gameMin." + game.name(), String.valueOf(min)));
+        return props;
+    }
+
+    /** Loads rules from a properties file */
+    public static TeamRules load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        TeamRules rules = fromProperties(props);
+        log.info("Team Formation Rules loaded from " + file + ": " + rules);
+        return rules;
+    }
+
+    /** Loads rules from the file if it exists, otherwise returns the default rules */
+    public static TeamRules loadOrDefault(Path file) {
+        if (!Files.isRegularFile(file)) return new TeamRules();
+        try {
+            return load(file);
+        } catch (IOException e) {
+            log.warning("Could not read rules file " + file + ", using defaults: " + e.getMessage());
+            return new TeamRules();
+        }
+    }
+
+    /**
+     * These rules adapted to teams drawn only from the given games: the game cap is raised so
+     * that teamSize players can be spread over those games, and minimums for other games,
+     * which such teams could never meet, are dropped.
+     */
+    public TeamRules forGames(Collection<Game> games, int teamSize) {
+        if (games.isEmpty()) throw new IllegalArgumentException("A game partition needs at least one game");
+        int cap = Math.max(gameCap, (teamSize + games.size() - 1) / games.size());
+        Map<Game, Integer> minimums = new EnumMap<>(Game.class);
+        gameMinimums.forEach((game, min) -> {
+            if (games.contains(game)) minimums.put(game, min);
+        });
+        return new TeamRules(cap, minRoles, maxLeaders, maxThinkers, minLeaders, minThinkers,
+                roleCaps, minimums, minAverageSkill);
+    }
+
+    private static int intValue(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " in rules: " + name);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> copy(Map<E, Integer> source, Class<E> type) {
+        Map<E, Integer> map = new EnumMap<>(type);
+        map.putAll(source);
+        return map;
+    }
+
+    private static void requireNonNegative(String name, int value) {
+        if (value < 0) throw new IllegalArgumentException(name + " must not be negative: " + value);
+    }
+
     // ========== GETTERS (Read-only access) ==========
 
     public int getGameCap() {
@@ -57,6 +233,32 @@ public class TeamRules {
         return minThinkers;
     }
 
+    public Map<Role, Integer> getRoleCaps() {
+        return roleCaps;
+    }
+
+    /** Maximum players with the role, or Integer.MAX_VALUE if the role is uncapped */
+    public int getRoleCap(Role role) {
+        return roleCaps.getOrDefault(role, Integer.MAX_VALUE);
+    }
+
+    public Map<Game, Integer> getGameMinimums() {
+        return gameMinimums;
+    }
+
+    public int getGameMinimum(Game game) {
+        return gameMinimums.getOrDefault(game, 0);
+    }
+
+    public double getMinAverageSkill() {
+        return minAverageSkill;
+    }
+
+    /** The rules compiled into flat checks over team counters */
+    public CompiledRules compiled() {
+        return compiled;
+    }
+
     @Override
     public String toString() {
         return "TeamRules{" +
@@ -64,6 +266,9 @@ public class TeamRules {
                 ", minRoles=" + minRoles +
                 ", leaders=" + minLeaders + "-" + maxLeaders +
                 ", thinkers=" + minThinkers + "-" + maxThinkers +
+                (roleCaps.isEmpty() ? "" : ", roleCaps=" + roleCaps) +
+                (gameMinimums.isEmpty() ? "" : ", gameMinimums=" + gameMinimums) +
+                (minAverageSkill > 0 ? ", minAverageSkill=" + minAverageSkill : "") +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,253 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
+import smartTeamMate.rules.TeamRules;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Builds initial teams by treating slot filling as a matching between team slots and
+ * (personality, role, game) buckets.
+ *
+ * Each slot is filled from the bucket that best serves the team's outstanding needs
+ * (missing leader/thinker, missing role diversity) while respecting the game cap and
+ * personality maximums, so completed teams are valid by construction. There are at most
+ * 3 x 5 x 6 buckets, so filling a slot is constant work and construction is linear in
+ * the number of players. A team that cannot be completed gives its players back and the
+ * bucket it started from is not used to start a team again, so construction moves on to
+ * other slot combinations until no start is left. Players that cannot be placed into a
+ * valid team are returned as leftover teams for the repair phase.
+ */
+public class BucketMatchingConstructor {
+
+    private static final int LEADER = Personality.LEADER.ordinal();
+    private static final int THINKER = Personality.THINKER.ordinal();
+    private static final int PERSONALITIES = Personality.values().length;
+    private static final int ROLES = Role.values().length;
+    private static final int GAMES = Game.values().length;
+
+    private final TeamRules rules;
+    private final Logger logger;
+
+    public BucketMatchingConstructor(TeamRules rules) {
+        this.rules = rules;
+        this.logger = Logger.getLogger(this.getClass().getName());
+    }
+
+    public List<Team> construct(List<Player> players, int teamSize) {
+        List<Team> teams = new ArrayList<>();
+        if (players == null || players.isEmpty() || teamSize <= 0) return teams;
+
+        Buckets buckets = new Buckets(players);
+        double globalMean = players.stream().mapToInt(Player::getSkillLevel).average().orElse(0);
+
+        int target = players.size() / teamSize;
+        // Buckets only shrink, so a start bucket whose team could not be completed stays blocked
+        BitSet blockedStarts = new BitSet();
+        while (teams.size() < target) {
+            int blocked = blockedStarts.cardinality();
+            Team team = fillTeam(buckets, teamSize, globalMean, "Team " + (teams.size() + 1), blockedStarts);
+            if (team != null) {
+                teams.add(team);
+            } else if (blockedStarts.cardinality() == blocked) {
+                break;   // no start bucket left to try
+            }
+        }
+        int validCount = teams.size();
+
+        // Whatever could not be matched goes into leftover teams for the repair phase.
+        List<Player> leftover = buckets.drain();
+        for (int i = 0; i < leftover.size(); i += teamSize) {
+            Team t = new Team("Team " + (teams.size() + 1));
+            leftover.subList(i, Math.min(leftover.size(), i + teamSize)).forEach(t::addMember);
+            teams.add(t);
+        }
+
+        logger.info("Bucket matching built " + validCount + " valid teams, "
+                + (teams.size() - validCount) + " leftover teams from " + leftover.size() + " players.");
+        return teams;
+    }
+
+    /**
+     * Fills one team slot by slot, never starting from a blocked bucket. Returns null (and restores
+     * the buckets) if no start is available or, after blocking its start bucket, if the team
+     * cannot be completed.
+     */
+    private Team fillTeam(Buckets buckets, int teamSize, double globalMean, String name, BitSet blockedStarts) {
+        int start = -1;
+        int[] gameCount = new int[GAMES];
+        int[] persCount = new int[PERSONALITIES];
+        int[] roleCount = new int[ROLES];
+        int distinctRoles = 0;
+        int skillSum = 0;
+        List<Player> members = new ArrayList<>(teamSize);
+
+        for (int slot = 0; slot < teamSize; slot++) {
+            int slotsLeft = teamSize - slot;
+            int needLeaders = Math.max(0, rules.getMinLeaders() - persCount[LEADER]);
+            int needThinkers = Math.max(0, rules.getMinThinkers() - persCount[THINKER]);
+            int needRoles = Math.max(0, rules.getMinRoles() - distinctRoles);
+
+            int best = -1;
+            int bestScore = Integer.MIN_VALUE;
+            for (int p = 0; p < PERSONALITIES; p++) {
+                if (p == LEADER && persCount[LEADER] >= rules.getMaxLeaders()) continue;
+                if (p == THINKER && persCount[THINKER] >= rules.getMaxThinkers()) continue;
+                boolean fillsPersonality = (p == LEADER && needLeaders > 0) || (p == THINKER && needThinkers > 0);
+                // Keep enough slots for the personalities still required.
+                if (!fillsPersonality && needLeaders + needThinkers >= slotsLeft) continue;
+
+                for (int r = 0; r < ROLES; r++) {
+                    boolean newRole = roleCount[r] == 0;
+                    if (!newRole && needRoles >= slotsLeft) continue;
+                    if (roleCount[r] >= rules.getRoleCap(Role.values()[r])) continue;
+
+                    for (int g = 0; g < GAMES; g++) {
+                        if (gameCount[g] >= rules.getGameCap()) continue;
+                        int supply = buckets.size(p, r, g);
+                        if (supply == 0) continue;
+                        if (slot == 0 && blockedStarts.get(Buckets.index(p, r, g))) continue;
+
+                        int score = (fillsPersonality ? 1000 : 0) + (newRole ? 500 : 0)
+                                + Math.min(supply, 99);
+                        if (score > bestScore) {
+                            bestScore = score;
+                            best = Buckets.index(p, r, g);
+                        }
+                    }
+                }
+            }
+
+            if (best < 0) {
+                if (start >= 0) blockedStarts.set(start);
+                buckets.restore(members);
+                return null;
+            }
+            if (slot == 0) start = best;
+
+            boolean wantHigh = members.isEmpty()
+                    ? buckets.preferHighFirst()
+                    : skillSum / (double) members.size() < globalMean;
+            Player chosen = buckets.take(best, wantHigh);
+
+            int g = chosen.getPreferredGame().ordinal();
+            int r = chosen.getPreferredRole().ordinal();
+            gameCount[g]++;
+            if (roleCount[r]++ == 0) distinctRoles++;
+            persCount[personalityIndex(chosen)]++;
+            skillSum += chosen.getSkillLevel();
+            members.add(chosen);
+        }
+
+        // Game minimums and the skill floor are not steered slot by slot; check the full rule set.
+        if (!rules.compiled().test(CompiledRules.count(members))) {
+            blockedStarts.set(start);
+            buckets.restore(members);
+            return null;
+        }
+
+        Team team = new Team(name);
+        members.forEach(team::addMember);
+        return team;
+    }
+
+    static int personalityIndex(Player p) {
+        return p.getPersonality().ordinal();
+    }
+
+    /** Skill-sorted players per (personality, role, game) bucket, taken from either end. */
+    private static class Buckets {
+        private final List<SkillSortedBucket> slots = new ArrayList<>(PERSONALITIES * ROLES * GAMES);
+        private boolean alternate;
+
+        Buckets(List<Player> players) {
+            for (int i = 0; i < PERSONALITIES * ROLES * GAMES; i++) slots.add(new SkillSortedBucket());
+            for (Player p : players) {
+                slots.get(index(personalityIndex(p), p.getPreferredRole().ordinal(), p.getPreferredGame().ordinal()))
+                        .players.add(p);
+            }
+            for (SkillSortedBucket bucket : slots) bucket.players.sort(SkillSortedBucket.SKILL_ASC);
+        }
+
+        static int index(int p, int r, int g) {
+            return (p * ROLES + r) * GAMES + g;
+        }
+
+        int size(int p, int r, int g) {
+            return slots.get(index(p, r, g)).size();
+        }
+
+        Player take(int bucket, boolean high) {
+            SkillSortedBucket b = slots.get(bucket);
+            return high ? b.takeHighest() : b.takeLowest();
+        }
+
+        /** Alternates the first pick of each team between the strong and weak end. */
+        boolean preferHighFirst() {
+            alternate = !alternate;
+            return alternate;
+        }
+
+        /** Puts players back at their skill position in their buckets */
+        void restore(List<Player> members) {
+            for (Player p : members) {
+                slots.get(index(personalityIndex(p), p.getPreferredRole().ordinal(), p.getPreferredGame().ordinal()))
+                        .insert(p);
+            }
+        }
+
+        List<Player> drain() {
+            List<Player> rest = new ArrayList<>();
+            for (SkillSortedBucket b : slots) {
+                rest.addAll(b.players.subList(b.start, b.players.size()));
+                b.players.clear();
+                b.start = 0;
+            }
+            rest.sort(Comparator.comparingInt(Player::getSkillLevel).reversed());
+            return rest;
+        }
+    }
+
+    /**
+     * Players in ascending skill order in players[start..]. Taking from either end is O(1);
+     * a restored player is binary-inserted, reusing a slot freed at the low end when it fits there.
+     */
+    private static class SkillSortedBucket {
+        static final Comparator<Player> SKILL_ASC = Comparator.comparingInt(Player::getSkillLevel);
+
+        final List<Player> players = new ArrayList<>();
+        int start;
+
+        int size() {
+            return players.size() - start;
+        }
+
+        Player takeHighest() {
+            return size() == 0 ? null : players.remove(players.size() - 1);
+        }
+
+        Player takeLowest() {
+            if (size() == 0) return null;
+            Player p = players.get(start);
+            players.set(start++, null);
+            return p;
+        }
+
+        void insert(Player p) {
+            int lo = start, hi = players.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (players.get(mid).getSkillLevel() < p.getSkillLevel()) lo = mid + 1;
+                else hi = mid;
+            }
+            if (lo == start && start > 0) players.set(--start, p);
+            else players.add(lo, p);
+        }
+    }
+}
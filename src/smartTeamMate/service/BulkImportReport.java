@@ -0,0 +1,46 @@
+package smartTeamMate.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk survey import: how many responses were saved and why the others were not.
+ */
+public class BulkImportReport {
+
+    private static final int MAX_LISTED_REJECTIONS = 100;
+
+    private int imported;
+    private int rejected;
+    private final List<String> rejections = new ArrayList<>();
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    void reject(long line, String reason) {
+        rejected++;
+        if (rejections.size() < MAX_LISTED_REJECTIONS) {
+            rejections.add("Line " + line + ": " + reason);
+        }
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    /** Reasons for the first rejected rows, e.g. "Line 12: Unknown game: Tetris" */
+    public List<String> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    @Override
+    public String toString() {
+        return imported + " imported, " + rejected + " rejected";
+    }
+}
@@ -0,0 +1,188 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.repository.CsvRecord;
+import smartTeamMate.repository.CsvRecordReader;
+import smartTeamMate.repository.PlayerRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Imports raw questionnaire answers in bulk instead of through the console survey.
+ *
+ * Input is CSV with the columns name,email,game,role,skill,q1,q2,q3,q4,q5 and an optional
+ * header line. Rows are validated with the same {@link SurveyInput} checks as the interactive
+ * survey and classified in parallel; valid rows then get consecutive IDs in file order and are
+ * saved with one journal commit per batch. Invalid rows are reported with their line number.
+ */
+public class BulkSurveyImporter {
+
+    private static final int COLUMNS = 5 + PersonalityClassifier.QUESTIONS;
+    private static final int DEFAULT_BATCH_SIZE = 2000;
+
+    private final PersonalityClassifier classifier;
+    private final int batchSize;
+    private final Logger log;
+
+    public BulkSurveyImporter(PersonalityClassifier classifier) {
+        this(classifier, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize rows validated, classified and saved together
+     */
+    public BulkSurveyImporter(PersonalityClassifier classifier, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        this.classifier = classifier;
+        this.batchSize = batchSize;
+        this.log = Logger.getLogger(BulkSurveyImporter.class.getName());
+    }
+
+    public BulkImportReport importResponses(Path file, PlayerRepository repository) throws IOException {
+        log.info("Starting bulk survey import from " + file);
+        BulkImportReport report = new BulkImportReport();
+
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<CsvRecord> rows = new ArrayList<>(batchSize);
+            List<Long> lines = new ArrayList<>(batchSize);
+
+            CsvRecord record = reader.next();
+            if (record != null && record.size() > 0 && record.get(0).trim().equalsIgnoreCase("name")) {
+                record = reader.next();   // header line
+            }
+            for (; record != null; record = reader.next()) {
+                rows.add(record);
+                lines.add(reader.getRecordLineNumber());   // a multi-line row is reported by its first line
+                if (rows.size() == batchSize) {
+                    importBatch(rows, lines, repository, report);
+                    rows.clear();
+                    lines.clear();
+                }
+            }
+            if (!rows.isEmpty()) importBatch(rows, lines, repository, report);
+        }
+
+        log.info("Bulk survey import finished: " + report);
+        return report;
+    }
+
+    private void importBatch(List<CsvRecord> rows, List<Long> lines, PlayerRepository repository,
+                             BulkImportReport report) {
+        // Validation and classification are independent per row
+        ParsedRow[] results = IntStream.range(0, rows.size()).parallel()
+                .mapToObj(i -> parse(rows.get(i)))
+                .toArray(ParsedRow[]::new);
+
+        List<Integer> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < results.length; i++) {
+            if (results[i].error != null) {
+                report.reject(lines.get(i), results[i].error);
+            } else {
+                valid.add(i);
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        List<String> ids = repository.generateNextIds(valid.size());
+        List<Player> players = new ArrayList<>(valid.size());
+        for (int k = 0; k < valid.size(); k++) {
+            Player p = results[valid.get(k)].player;
+            p.setId(ids.get(k));
+            players.add(p);
+        }
+
+        if (repository.saveAll(players)) {
+            report.imported(players.size());
+        } else {
+            for (int i : valid) report.reject(lines.get(i), "Could not be saved");
+        }
+    }
+
+    /** A row's player (without an ID yet) or the reason it was rejected */
+    private static class ParsedRow {
+        final Player player;
+        final String error;
+
+        ParsedRow(Player player, String error) {
+            this.player = player;
+            this.error = error;
+        }
+    }
+
+    private ParsedRow parse(CsvRecord row) {
+        if (row.size() != COLUMNS) {
+            return new ParsedRow(null, "Expected " + COLUMNS + " columns but found " + row.size());
+        }
+        // The name, game, role, skill and answers are checked in place on the record text, so
+        // a row rejected by those checks allocates no field strings; the email is extracted
+        // for its pattern check once everything else has passed. The CSV parser keeps the quotes
+        // of a padded field such as ' "Valorant"', so the checks look inside them.
+        String text = row.text();
+        if (isBlank(text, row.start(0), row.end(0))) return new ParsedRow(null, "Name is empty");
+        Game game = SurveyInput.game(text, valueFrom(row, 2), valueTo(row, 2));
+        if (game == null) return new ParsedRow(null, "Unknown game: " + row.get(2));
+        Role role = SurveyInput.role(text, valueFrom(row, 3), valueTo(row, 3));
+        if (role == null) return new ParsedRow(null, "Unknown role: " + row.get(3));
+        int skill = SurveyInput.skill(text, valueFrom(row, 4), valueTo(row, 4));
+        if (skill == SurveyInput.INVALID) {
+            return new ParsedRow(null, "Skill must be a number from " + SurveyInput.MIN_SKILL + " to "
+                    + SurveyInput.MAX_SKILL + ": " + row.get(4));
+        }
+
+        List<Integer> answers = new ArrayList<>(PersonalityClassifier.QUESTIONS);
+        for (int q = 0; q < PersonalityClassifier.QUESTIONS; q++) {
+            int answer = SurveyInput.answer(text, valueFrom(row, 5 + q), valueTo(row, 5 + q));
+            if (answer == SurveyInput.INVALID) {
+                return new ParsedRow(null, "Answer " + (q + 1) + " must be a number from " + SurveyInput.MIN_ANSWER
+                        + " to " + SurveyInput.MAX_ANSWER + ": " + row.get(5 + q));
+            }
+            answers.add(answer);
+        }
+        String email = row.get(1).trim();
+        if (!SurveyInput.isEmail(email)) return new ParsedRow(null, "Invalid email format: " + email);
+
+        ClassificationResult result = classifier.typeClassifier(answers);
+        return new ParsedRow(new Player(row.get(0).trim(), null, email, game, skill, role,
+                result.getTotalScore(), result.getPersonality()), null);
+    }
+
+    /** Start of the field's text without surrounding whitespace and one pair of enclosing quotes */
+    private static int valueFrom(CsvRecord row, int field) {
+        String text = row.text();
+        int from = row.start(field);
+        int to = row.end(field);
+        while (from < to && text.charAt(from) <= ' ') from++;
+        while (to > from && text.charAt(to - 1) <= ' ') to--;
+        return isQuoted(text, from, to) ? from + 1 : from;
+    }
+
+    /** End of the field's text without surrounding whitespace and one pair of enclosing quotes */
+    private static int valueTo(CsvRecord row, int field) {
+        String text = row.text();
+        int from = row.start(field);
+        int to = row.end(field);
+        while (from < to && text.charAt(from) <= ' ') from++;
+        while (to > from && text.charAt(to - 1) <= ' ') to--;
+        return isQuoted(text, from, to) ? to - 1 : to;
+    }
+
+    private static boolean isQuoted(String text, int from, int to) {
+        return to - from >= 2 && text.charAt(from) == '"' && text.charAt(to - 1) == '"';
+    }
+
+    private static boolean isBlank(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+}
@@ -1,27 +1,33 @@
 package smartTeamMate.service;
 
+import smartTeamMate.model.Personality;
+
 public class ClassificationResult {
     private final int totalScore;
-    private final String classificationType;
+    private final Personality personality;
 
-    public ClassificationResult(int totalScore, String classificationType) {
+    public ClassificationResult(int totalScore, Personality personality) {
         this.totalScore = totalScore;
-        this.classificationType = classificationType;
+        this.personality = personality;
     }
 
     public int getTotalScore() {
         return totalScore;
     }
 
+    public Personality getPersonality() {
+        return personality;
+    }
+
     public String getClassificationType() {
-        return classificationType;
+        return personality.getDisplayName();
     }
 
     @Override
     public String toString() {
         return "ClassificationResult{" +
                 "totalScore=" + totalScore +
-                ", classificationType='" + classificationType + '\'' +
+                ", classificationType='" + personality + '\'' +
                 '}';
     }
 }
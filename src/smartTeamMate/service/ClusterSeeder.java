@@ -0,0 +1,261 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
+import smartTeamMate.rules.TeamRules;
+
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds initial teams by clustering players on {@link Player#toVector()} and dealing
+ * each cluster across the teams.
+ *
+ * Vectors are standardised per dimension and grouped with k-means (k-means++ start,
+ * assignment step in parallel), with k equal to the team size, so each team receives
+ * roughly one player from every cluster of similar players. Dealing goes leaders first,
+ * then thinkers, then everyone else; within each group players are taken cluster by
+ * cluster in descending skill and placed in the open team with the fewest players of
+ * that personality, then of that cluster, preferring a new role and then the lowest
+ * skill total, without breaking personality maximums, the game cap or role caps.
+ * Players that fit nowhere are returned as leftover teams for the repair phase.
+ */
+public class ClusterSeeder {
+
+    private static final int MAX_ITERATIONS = 25;
+
+    private final TeamRules rules;
+    private final Random random;
+    private final Logger logger;
+
+    public ClusterSeeder(TeamRules rules, Random random) {
+        this.rules = rules;
+        this.random = random;
+        this.logger = Logger.getLogger(this.getClass().getName());
+    }
+
+    public List<Team> construct(List<Player> players, int teamSize) {
+        List<Team> teams = new ArrayList<>();
+        if (players == null || players.isEmpty() || teamSize <= 0) return teams;
+
+        int teamCount = players.size() / teamSize;
+        if (teamCount == 0) {
+            Team rest = new Team("Team 1");
+            players.forEach(rest::addMember);
+            teams.add(rest);
+            return teams;
+        }
+
+        int[] cluster = cluster(players, Math.min(teamSize, players.size()));
+        int k = Arrays.stream(cluster).max().orElse(0) + 1;
+
+        int[][] counters = new int[teamCount][];
+        int[][] perCluster = new int[teamCount][k];
+        for (int t = 0; t < teamCount; t++) {
+            teams.add(new Team("Team " + (t + 1)));
+            counters[t] = CompiledRules.newCounters();
+        }
+
+        Integer[] order = new Integer[players.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer i) -> dealRank(players.get(i).getPersonality()))
+                .thenComparingInt(i -> cluster[i])
+                .thenComparing(i -> players.get(i).getSkillLevel(), Comparator.reverseOrder()));
+
+        List<Player> leftover = new ArrayList<>();
+        for (int i : order) {
+            Player p = players.get(i);
+            int t = bestTeam(p, cluster[i], teamSize, counters, perCluster);
+            if (t < 0) {
+                leftover.add(p);
+                continue;
+            }
+            teams.get(t).addMember(p);
+            CompiledRules.add(counters[t], p);
+            perCluster[t][cluster[i]]++;
+        }
+
+        // Short teams give their players back so every seeded team is full size
+        for (Iterator<Team> it = teams.iterator(); it.hasNext(); ) {
+            Team team = it.next();
+            if (team.getMembers().size() < teamSize) {
+                leftover.addAll(team.getMembers());
+                it.remove();
+            }
+        }
+        int seeded = teams.size();
+        for (int i = 0; i < leftover.size(); i += teamSize) {
+            Team rest = new Team("Team " + (teams.size() + 1));
+            leftover.subList(i, Math.min(leftover.size(), i + teamSize)).forEach(rest::addMember);
+            teams.add(rest);
+        }
+
+        logger.info("Cluster seeding dealt " + k + " clusters into " + seeded + " teams, "
+                + (teams.size() - seeded) + " leftover teams from " + leftover.size() + " players.");
+        return teams;
+    }
+
+    private static int dealRank(Personality personality) {
+        switch (personality) {
+            case LEADER:
+                return 0;
+            case THINKER:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    /** Open team that best takes the player, or -1 */
+    private int bestTeam(Player p, int c, int teamSize, int[][] counters, int[][] perCluster) {
+        int personality = CompiledRules.PERSONALITY_OFFSET + p.getPersonality().ordinal();
+        int game = CompiledRules.GAME_OFFSET + p.getPreferredGame().ordinal();
+        int role = CompiledRules.ROLE_OFFSET + p.getPreferredRole().ordinal();
+        int personalityCap = p.getPersonality() == Personality.LEADER ? rules.getMaxLeaders()
+                : p.getPersonality() == Personality.THINKER ? rules.getMaxThinkers()
+                : Integer.MAX_VALUE;
+        int roleCap = rules.getRoleCap(p.getPreferredRole());
+
+        int best = -1;
+        long bestCost = Long.MAX_VALUE;
+        for (int t = 0; t < counters.length; t++) {
+            int[] ct = counters[t];
+            if (ct[CompiledRules.SIZE] >= teamSize) continue;
+            if (ct[personality] >= personalityCap) continue;
+            if (ct[game] >= rules.getGameCap()) continue;
+            if (ct[role] >= roleCap) continue;
+            // Players dealt later must still be able to cover the personality minimums
+            if (p.getPersonality() == Personality.BALANCED && missingPersonalities(ct) >= teamSize - ct[CompiledRules.SIZE]) {
+                continue;
+            }
+
+            long cost = ct[personality] * 100_000_000L
+                    + perCluster[t][c] * 1_000_000L
+                    + (ct[role] > 0 ? 100_000L : 0L)
+                    + ct[CompiledRules.SKILL_SUM];
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    private int missingPersonalities(int[] counters) {
+        int leaders = counters[CompiledRules.PERSONALITY_OFFSET + Personality.LEADER.ordinal()];
+        int thinkers = counters[CompiledRules.PERSONALITY_OFFSET + Personality.THINKER.ordinal()];
+        return Math.max(0, rules.getMinLeaders() - leaders) + Math.max(0, rules.getMinThinkers() - thinkers);
+    }
+
+    /**
+     * K-means over the standardised player vectors; returns each player's cluster.
+     * Empty clusters are dropped, so cluster ids run from 0 to (non-empty clusters - 1).
+     */
+    public int[] cluster(List<Player> players, int k) {
+        int n = players.size();
+        double[][] x = standardise(players);
+        int dims = n == 0 ? 0 : x[0].length;
+        int[] assign = new int[n];
+        if (n == 0 || k <= 1) return assign;
+
+        double[][] centroids = seedCentroids(x, k);
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            double[][] c = centroids;
+            int[] next = IntStream.range(0, n).parallel().map(i -> nearest(x[i], c)).toArray();
+            boolean changed = iter == 0 || !Arrays.equals(next, assign);
+            assign = next;
+            if (!changed) break;
+
+            double[][] sums = new double[k][dims];
+            int[] sizes = new int[k];
+            for (int i = 0; i < n; i++) {
+                sizes[assign[i]]++;
+                for (int d = 0; d < dims; d++) sums[assign[i]][d] += x[i][d];
+            }
+            for (int j = 0; j < k; j++) {
+                if (sizes[j] == 0) continue;   // keep the old centroid for an empty cluster
+                for (int d = 0; d < dims; d++) centroids[j][d] = sums[j][d] / sizes[j];
+            }
+        }
+
+        // Renumber so that cluster ids are dense
+        int[] id = new int[k];
+        Arrays.fill(id, -1);
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            if (id[assign[i]] < 0) id[assign[i]] = next++;
+            assign[i] = id[assign[i]];
+        }
+        return assign;
+    }
+
+    /** k-means++: each next centroid is drawn with probability proportional to squared distance */
+    private double[][] seedCentroids(double[][] x, int k) {
+        int n = x.length;
+        double[][] centroids = new double[k][];
+        centroids[0] = x[random.nextInt(n)].clone();
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        for (int j = 1; j < k; j++) {
+            double total = 0.0;
+            for (int i = 0; i < n; i++) {
+                dist[i] = Math.min(dist[i], squaredDistance(x[i], centroids[j - 1]));
+                total += dist[i];
+            }
+            int pick = 0;
+            if (total > 0) {
+                double r = random.nextDouble() * total;
+                while (pick < n - 1 && (r -= dist[pick]) > 0) pick++;
+            } else {
+                pick = random.nextInt(n);
+            }
+            centroids[j] = x[pick].clone();
+        }
+        return centroids;
+    }
+
+    private static double[][] standardise(List<Player> players) {
+        int n = players.size();
+        double[][] x = new double[n][];
+        for (int i = 0; i < n; i++) x[i] = players.get(i).toVector();
+        if (n == 0) return x;
+
+        int dims = x[0].length;
+        for (int d = 0; d < dims; d++) {
+            double mean = 0.0;
+            for (double[] v : x) mean += v[d];
+            mean /= n;
+            double var = 0.0;
+            for (double[] v : x) var += (v[d] - mean) * (v[d] - mean);
+            double sd = Math.sqrt(var / n);
+            for (double[] v : x) v[d] = sd == 0 ? 0.0 : (v[d] - mean) / sd;
+        }
+        return x;
+    }
+
+    private static int nearest(double[] v, double[][] centroids) {
+        int best = 0;
+        double bestDist = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < centroids.length; j++) {
+            double d = squaredDistance(v, centroids[j]);
+            if (d < bestDist) {
+                bestDist = d;
+                best = j;
+            }
+        }
+        return best;
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int d = 0; d < a.length; d++) {
+            double diff = a[d] - b[d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
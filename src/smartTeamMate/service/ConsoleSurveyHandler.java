@@ -61,7 +61,7 @@ public class ConsoleSurveyHandler implements SurveyHandler {
                 skillLevel,
                 preferredRole,
                 result.getTotalScore(),
-                result.getClassificationType()
+                result.getPersonality()
         );
 
         log.info("Player object created successfully.");
@@ -0,0 +1,13 @@
+package smartTeamMate.service;
+
+/**
+ * How TeamBuilder lays out the initial teams before the repair phase.
+ */
+public enum ConstructionStrategy {
+    /** Snake-distribute leaders, then thinkers, then balanced players (ignores games and roles) */
+    PERSONALITY_SNAKE,
+    /** Fill slots from (personality, role, game) buckets so teams are valid by construction */
+    BUCKET_MATCHING,
+    /** Cluster players on their feature vectors and deal every cluster across the teams */
+    CLUSTER_SEEDED
+}
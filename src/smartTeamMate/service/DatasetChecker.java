@@ -1,12 +1,12 @@
 package smartTeamMate.service;
 
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
 import smartTeamMate.model.Player;
-import smartTeamMate.model.Role;
 import smartTeamMate.rules.TeamRules;
 
 import java.util.*;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class DatasetChecker {
 
@@ -23,16 +23,23 @@ public class DatasetChecker {
      * Checks the dataset and returns a list of warnings.
      */
     public List<String> check(List<Player> players, int teamSize) {
-        log.info("Starting dataset check. Players: " + players.size() + ", Team size: " + teamSize);
+        return check(DatasetStats.of(players), teamSize);
+    }
+
+    /**
+     * Checks dataset statistics, e.g. gathered while loading the CSV, and returns a list of warnings.
+     */
+    public List<String> check(DatasetStats stats, int teamSize) {
+        log.info("Starting dataset check. Players: " + stats.getPlayerCount() + ", Team size: " + teamSize);
 
         List<String> warnings = new ArrayList<>();
-        int totalTeams = (int) Math.ceil(players.size() / (double) teamSize);
+        int totalTeams = (int) Math.ceil(stats.getPlayerCount() / (double) teamSize);
 
         log.fine("Calculated total teams: " + totalTeams);
 
-        warnings.addAll(checkPersonality(players, totalTeams));
-        warnings.addAll(checkRoles(players));
-        warnings.addAll(checkGames(players, totalTeams));
+        warnings.addAll(checkPersonality(stats, totalTeams));
+        warnings.addAll(checkRoles(stats));
+        warnings.addAll(checkGames(stats, totalTeams));
 
         if (warnings.isEmpty()) {
             log.info("Dataset check completed: no warnings.");
@@ -44,18 +51,13 @@ public class DatasetChecker {
         return warnings;
     }
 
-    private List<String> checkPersonality(List<Player> players, int totalTeams) {
+    private List<String> checkPersonality(DatasetStats stats, int totalTeams) {
         log.fine("Checking personality distribution...");
 
         List<String> warnings = new ArrayList<>();
 
-        long leaders = players.stream()
-                .filter(p -> "Leader".equalsIgnoreCase(p.getPersonalityType()))
-                .count();
-
-        long thinkers = players.stream()
-                .filter(p -> "Thinker".equalsIgnoreCase(p.getPersonalityType()))
-                .count();
+        long leaders = stats.count(Personality.LEADER);
+        long thinkers = stats.count(Personality.THINKER);
 
         log.fine("Leaders: " + leaders + ", Thinkers: " + thinkers);
 
@@ -76,15 +78,12 @@ public class DatasetChecker {
         return warnings;
     }
 
-    private List<String> checkRoles(List<Player> players) {
+    private List<String> checkRoles(DatasetStats stats) {
         log.fine("Checking role diversity...");
 
         List<String> warnings = new ArrayList<>();
 
-        long uniqueRoles = players.stream()
-                .map(Player::getPreferredRole)
-                .distinct()
-                .count();
+        long uniqueRoles = stats.distinctRoles();
 
         log.fine("Unique roles found: " + uniqueRoles);
 
@@ -98,27 +97,20 @@ public class DatasetChecker {
         return warnings;
     }
 
-    private List<String> checkGames(List<Player> players, int totalTeams) {
+    private List<String> checkGames(DatasetStats stats, int totalTeams) {
         log.fine("Checking game distribution...");
 
         List<String> warnings = new ArrayList<>();
 
-        Map<String, Long> gameCount = players.stream()
-                .collect(Collectors.groupingBy(
-                        p -> p.getPreferredGame().name(),
-                        Collectors.counting()
-                ));
-
-        log.fine("Game distribution: " + gameCount);
+        log.fine("Dataset statistics: " + stats);
 
-        for (var entry : gameCount.entrySet()) {
-            String game = entry.getKey();
-            long count = entry.getValue();
+        for (Game game : Game.values()) {
+            long count = stats.count(game);
 
             if (count > totalTeams * rules.getGameCap()) {
                 warnings.add(String.format(
                         "Too many players for game '%s' (%d). Max per team: %d",
-                        game, count, rules.getGameCap()
+                        game.name(), count, rules.getGameCap()
                 ));
             }
         }
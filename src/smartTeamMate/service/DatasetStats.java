@@ -0,0 +1,114 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Personality, role, game and skill histograms of a player set, gathered in one pass.
+ *
+ * Counts are plain int arrays indexed by enum ordinal (and by skill level for the skill
+ * histogram), so accepting a player is a handful of increments. Two partial results can
+ * be combined, which makes the class usable as a parallel stream collector, and it is a
+ * {@link Consumer} so the CSV loader can feed it while rows are read.
+ */
+public class DatasetStats implements Consumer<Player> {
+
+    private final int[] personalities = new int[Personality.values().length];
+    private final int[] roles = new int[Role.values().length];
+    private final int[] games = new int[Game.values().length];
+    private int[] skills = new int[11];
+    private int players;
+    private long skillSum;
+
+    /** Collector for {@code players.parallelStream().collect(DatasetStats.collector())} */
+    public static Collector<Player, DatasetStats, DatasetStats> collector() {
+        return Collector.of(DatasetStats::new, DatasetStats::accept, DatasetStats::combine,
+                Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    public static DatasetStats of(Collection<Player> players) {
+        Collector<Player, DatasetStats, DatasetStats> collector = collector();
+        return players.size() < 10_000
+                ? players.stream().collect(collector)
+                : players.parallelStream().collect(collector);
+    }
+
+    @Override
+    public void accept(Player p) {
+        personalities[p.getPersonality().ordinal()]++;
+        roles[p.getPreferredRole().ordinal()]++;
+        games[p.getPreferredGame().ordinal()]++;
+
+        int skill = Math.max(0, p.getSkillLevel());
+        if (skill >= skills.length) skills = Arrays.copyOf(skills, skill + 1);
+        skills[skill]++;
+        skillSum += p.getSkillLevel();
+        players++;
+    }
+
+    /** Adds other's counts into this one and returns this */
+    public DatasetStats combine(DatasetStats other) {
+        add(personalities, other.personalities);
+        add(roles, other.roles);
+        add(games, other.games);
+        if (other.skills.length > skills.length) skills = Arrays.copyOf(skills, other.skills.length);
+        add(skills, other.skills);
+        players += other.players;
+        skillSum += other.skillSum;
+        return this;
+    }
+
+    private static void add(int[] into, int[] from) {
+        for (int i = 0; i < from.length; i++) into[i] += from[i];
+    }
+
+    // ========== GETTERS ==========
+
+    public int getPlayerCount() {
+        return players;
+    }
+
+    public int count(Personality personality) {
+        return personalities[personality.ordinal()];
+    }
+
+    public int count(Role role) {
+        return roles[role.ordinal()];
+    }
+
+    public int count(Game game) {
+        return games[game.ordinal()];
+    }
+
+    /** Number of players with exactly this skill level */
+    public int countSkill(int skillLevel) {
+        return skillLevel >= 0 && skillLevel < skills.length ? skills[skillLevel] : 0;
+    }
+
+    public int distinctRoles() {
+        int distinct = 0;
+        for (int c : roles) if (c > 0) distinct++;
+        return distinct;
+    }
+
+    public double averageSkill() {
+        return players == 0 ? 0.0 : skillSum / (double) players;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetStats{players=" + players +
+                ", personalities=" + Arrays.toString(personalities) +
+                ", roles=" + Arrays.toString(roles) +
+                ", games=" + Arrays.toString(games) +
+                ", averageSkill=" + String.format("%.2f", averageSkill()) +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.rules.TeamRules;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.logging.Logger;
+
+/**
+ * Computes an analytical upper bound on the number of valid teams a dataset can produce.
+ *
+ * Every bound below is a concave capacity check of the form
+ * "supply usable by T teams >= demand of T teams", so feasibility is monotone in T
+ * and the largest feasible T can be found with a binary search.
+ */
+public class FeasibilityAnalyzer {
+
+    private final TeamRules rules;
+    private final Logger log;
+
+    public FeasibilityAnalyzer(TeamRules rules, Logger log) {
+        this.rules = rules;
+        this.log = log;
+        log.fine("FeasibilityAnalyzer initialized with TeamRules.");
+    }
+
+    public FeasibilityReport analyze(List<Player> players, int teamSize) {
+        if (players == null || players.isEmpty()) return analyze(new DatasetStats(), teamSize);
+        return analyze(DatasetStats.of(players), teamSize);
+    }
+
+    /**
+     * Works from dataset statistics alone, e.g. the ones the caller already gathered for its checks.
+     */
+    public FeasibilityReport analyze(DatasetStats stats, int teamSize) {
+        if (stats.getPlayerCount() == 0 || teamSize <= 0) {
+            return new FeasibilityReport(0, "empty dataset", 0, 0, 0, 0);
+        }
+
+        long leaders = stats.count(Personality.LEADER);
+        long thinkers = stats.count(Personality.THINKER);
+        long[] gameCount = new long[Game.values().length];
+        for (Game g : Game.values()) gameCount[g.ordinal()] = stats.count(g);
+        long[] roleCount = new long[Role.values().length];
+        for (Role r : Role.values()) roleCount[r.ordinal()] = stats.count(r);
+        long others = stats.getPlayerCount() - leaders - thinkers;
+
+        int bySize = stats.getPlayerCount() / teamSize;
+
+        if (teamSize < rules.getMinRoles() || teamSize < rules.getMinLeaders() + rules.getMinThinkers()) {
+            log.warning("Team size " + teamSize + " cannot satisfy the per-team minimums of " + rules);
+            return new FeasibilityReport(0, "team size", bySize, 0, 0, 0);
+        }
+
+        final long l = leaders, t = thinkers, o = others;
+        int byPersonality = largestFeasible(bySize, teams -> {
+            if (l < (long) teams * rules.getMinLeaders()) return false;
+            if (t < (long) teams * rules.getMinThinkers()) return false;
+            long usable = Math.min(l, (long) teams * rules.getMaxLeaders())
+                    + Math.min(t, (long) teams * rules.getMaxThinkers())
+                    + o;
+            return usable >= (long) teams * teamSize;
+        });
+
+        int byGames = largestFeasible(bySize, teams -> {
+            long usable = 0;
+            for (long c : gameCount) usable += Math.min(c, (long) teams * rules.getGameCap());
+            return usable >= (long) teams * teamSize;
+        });
+
+        int byRoles = largestFeasible(bySize, teams -> {
+            long distinctSlots = 0;
+            for (long c : roleCount) distinctSlots += Math.min(c, teams);
+            return distinctSlots >= (long) teams * rules.getMinRoles();
+        });
+
+        int max = Math.min(Math.min(bySize, byPersonality), Math.min(byGames, byRoles));
+        String limiting = max == bySize ? "player count"
+                : max == byPersonality ? "personality mix"
+                : max == byGames ? "game cap"
+                : "role diversity";
+
+        FeasibilityReport report = new FeasibilityReport(max, limiting, bySize, byPersonality, byGames, byRoles);
+        log.info("Feasibility analysis: " + report);
+        return report;
+    }
+
+    /** Largest T in [0, upper] for which the (monotone) predicate holds */
+    private int largestFeasible(int upper, IntPredicate feasible) {
+        int lo = 0, hi = upper;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (feasible.test(mid)) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+}
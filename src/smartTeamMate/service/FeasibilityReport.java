@@ -0,0 +1,61 @@
+package smartTeamMate.service;
+
+public class FeasibilityReport {
+    private final int maxValidTeams;
+    private final String limitingFactor;
+    private final int teamsBySize;
+    private final int teamsByPersonality;
+    private final int teamsByGames;
+    private final int teamsByRoles;
+
+    public FeasibilityReport(int maxValidTeams, String limitingFactor, int teamsBySize,
+                             int teamsByPersonality, int teamsByGames, int teamsByRoles) {
+        this.maxValidTeams = maxValidTeams;
+        this.limitingFactor = limitingFactor;
+        this.teamsBySize = teamsBySize;
+        this.teamsByPersonality = teamsByPersonality;
+        this.teamsByGames = teamsByGames;
+        this.teamsByRoles = teamsByRoles;
+    }
+
+    /** Upper bound on the number of valid teams the dataset can produce */
+    public int getMaxValidTeams() {
+        return maxValidTeams;
+    }
+
+    public String getLimitingFactor() {
+        return limitingFactor;
+    }
+
+    public int getTeamsBySize() {
+        return teamsBySize;
+    }
+
+    public int getTeamsByPersonality() {
+        return teamsByPersonality;
+    }
+
+    public int getTeamsByGames() {
+        return teamsByGames;
+    }
+
+    public int getTeamsByRoles() {
+        return teamsByRoles;
+    }
+
+    public boolean isFeasible() {
+        return maxValidTeams > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "FeasibilityReport{" +
+                "maxValidTeams=" + maxValidTeams +
+                ", limitingFactor='" + limitingFactor + '\'' +
+                ", size=" + teamsBySize +
+                ", personality=" + teamsByPersonality +
+                ", games=" + teamsByGames +
+                ", roles=" + teamsByRoles +
+                '}';
+    }
+}
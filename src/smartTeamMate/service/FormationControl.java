@@ -0,0 +1,70 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Team;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Cooperative cancellation, deadline and progress checkpoints for long-running formation loops.
+ *
+ * TeamBalancer and SkillBalancer poll shouldStop() once per iteration and report their
+ * current teams through checkpoint(); checkpoints are throttled so they stay cheap.
+ */
+public class FormationControl {
+
+    private static final long CHECKPOINT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final long deadlineNanos;
+    private final BiConsumer<FormationStage, List<Team>> onCheckpoint;
+    private volatile boolean cancelled;
+    private volatile long lastCheckpoint;
+
+    public FormationControl(long timeoutMillis, BiConsumer<FormationStage, List<Team>> onCheckpoint) {
+        this.deadlineNanos = timeoutMillis <= 0
+                ? Long.MAX_VALUE
+                : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.onCheckpoint = onCheckpoint;
+        this.lastCheckpoint = System.nanoTime();
+    }
+
+    /** A control that never stops and ignores checkpoints */
+    public static FormationControl none() {
+        return new FormationControl(0, null);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos != Long.MAX_VALUE && System.nanoTime() >= deadlineNanos;
+    }
+
+    public boolean shouldStop() {
+        return cancelled || isExpired() || Thread.currentThread().isInterrupted();
+    }
+
+    /** Report intermediate teams; forwarded at most once per interval unless forced */
+    public void checkpoint(FormationStage stage, List<Team> teams, boolean force) {
+        if (onCheckpoint == null) return;
+        long now = System.nanoTime();
+        if (!force && now - lastCheckpoint < CHECKPOINT_INTERVAL_NANOS) return;
+        lastCheckpoint = now;
+        onCheckpoint.accept(stage, teams);
+    }
+
+    /** Whether a checkpoint that is not forced would be forwarded now, so callers can skip preparing one */
+    public boolean isCheckpointDue() {
+        return onCheckpoint != null && System.nanoTime() - lastCheckpoint >= CHECKPOINT_INTERVAL_NANOS;
+    }
+
+    public void checkpoint(FormationStage stage, List<Team> teams) {
+        checkpoint(stage, teams, false);
+    }
+}
@@ -0,0 +1,44 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Team;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handle to an asynchronous formation started by TeamService.createTeamsAsync.
+ *
+ * The result completes with the best valid teams found, including after a timeout or
+ * cancel(), in which case it holds the best-so-far teams rather than failing.
+ */
+public class FormationHandle {
+    private final CompletableFuture<List<Team>> result;
+    private final FormationControl control;
+    private final AtomicReference<FormationProgress> latest;
+
+    FormationHandle(CompletableFuture<List<Team>> result, FormationControl control,
+                    AtomicReference<FormationProgress> latest) {
+        this.result = result;
+        this.control = control;
+        this.latest = latest;
+    }
+
+    public CompletableFuture<List<Team>> getResult() {
+        return result;
+    }
+
+    /** Most recent progress snapshot, or null before the first one is published */
+    public FormationProgress getLatestProgress() {
+        return latest.get();
+    }
+
+    /** Ask the formation to stop; the result then completes with the best teams so far */
+    public void cancel() {
+        control.cancel();
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+}
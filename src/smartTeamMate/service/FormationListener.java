@@ -0,0 +1,5 @@
+package smartTeamMate.service;
+
+public interface FormationListener {
+    void onProgress(FormationProgress progress);
+}
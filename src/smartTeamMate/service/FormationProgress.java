@@ -0,0 +1,42 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Team;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot published while a formation runs: current stage and the best valid teams so far.
+ */
+public class FormationProgress {
+    private final FormationStage stage;
+    private final FormationScore score;
+    private final List<Team> bestTeams;
+
+    public FormationProgress(FormationStage stage, FormationScore score, List<Team> bestTeams) {
+        this.stage = stage;
+        this.score = score;
+        this.bestTeams = Collections.unmodifiableList(bestTeams);
+    }
+
+    public FormationStage getStage() {
+        return stage;
+    }
+
+    public FormationScore getScore() {
+        return score;
+    }
+
+    /** Copies of the best valid teams seen so far; safe to read while formation continues */
+    public List<Team> getBestTeams() {
+        return bestTeams;
+    }
+
+    @Override
+    public String toString() {
+        return "FormationProgress{" +
+                "stage=" + stage +
+                ", score=" + score +
+                '}';
+    }
+}
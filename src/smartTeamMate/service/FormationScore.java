@@ -0,0 +1,53 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Team;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+
+/**
+ * Quality of a formation: more valid teams is better, then a tighter skill range.
+ */
+public class FormationScore implements Comparable<FormationScore> {
+    private final int validTeams;
+    private final double skillRange;
+
+    public FormationScore(int validTeams, double skillRange) {
+        this.validTeams = validTeams;
+        this.skillRange = skillRange;
+    }
+
+    public static FormationScore of(List<Team> validTeams) {
+        if (validTeams == null || validTeams.isEmpty()) return new FormationScore(0, 0.0);
+        DoubleSummaryStatistics stat = validTeams.stream()
+                .mapToDouble(Team::getTotalSkillAvg)
+                .summaryStatistics();
+        return new FormationScore(validTeams.size(), stat.getMax() - stat.getMin());
+    }
+
+    public int getValidTeams() {
+        return validTeams;
+    }
+
+    public double getSkillRange() {
+        return skillRange;
+    }
+
+    public boolean isBetterThan(FormationScore other) {
+        return other == null || compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(FormationScore other) {
+        if (validTeams != other.validTeams) return Integer.compare(validTeams, other.validTeams);
+        return Double.compare(other.skillRange, skillRange);
+    }
+
+    @Override
+    public String toString() {
+        return "FormationScore{" +
+                "validTeams=" + validTeams +
+                ", skillRange=" + String.format("%.2f", skillRange) +
+                '}';
+    }
+}
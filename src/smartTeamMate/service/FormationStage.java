@@ -0,0 +1,9 @@
+package smartTeamMate.service;
+
+public enum FormationStage {
+    VALIDATING,
+    BUILDING,
+    BALANCING,
+    TIGHTENING,
+    DONE
+}
@@ -0,0 +1,294 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
+import smartTeamMate.rules.CompiledRules.Violation;
+import smartTeamMate.rules.TeamRules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Built-in swap objectives. Every evaluation keeps per-team counters or sums, so pricing
+ * a swap only touches the two teams involved.
+ */
+public final class Objectives {
+
+    private static final Logger log = Logger.getLogger(Objectives.class.getName());
+    private static final String PREFIX = "objective.";
+
+    private Objectives() {
+    }
+
+    /**
+     * Objective weights read from properties, e.g. the rules file. Without any objective key
+     * this is {@link #standard}; otherwise the listed weights replace the standard ones.
+     *
+     * Keys: objective.ruleViolations (default 1), objective.skillRange (default 1),
+     * objective.roleCoverage, objective.gameDiversity, objective.skillVariance,
+     * objective.personalityScoreSpread (default 0) and objective.violation.&lt;VIOLATION&gt;
+     * to change one rule type's weight within ruleViolations.
+     */
+    public static SwapObjective fromProperties(TeamRules rules, Properties props) {
+        if (props.stringPropertyNames().stream().noneMatch(k -> k.startsWith(PREFIX))) return standard(rules);
+
+        Map<Violation, Double> violationWeights = defaultViolationWeights();
+        for (String key : props.stringPropertyNames()) {
+            if (!key.startsWith(PREFIX + "violation.")) continue;
+            String name = key.substring((PREFIX + "violation.").length()).trim();
+            try {
+                violationWeights.put(Violation.valueOf(name.toUpperCase(Locale.ROOT)), weight(props, key, 0.0));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown rule violation in " + key, e);
+            }
+        }
+
+        // Parts weighted 0 are left out so they are not bound and updated for nothing
+        WeightedObjective objective = new WeightedObjective();
+        addWeighted(objective, ruleViolations(rules, violationWeights), weight(props, PREFIX + "ruleViolations", 1.0));
+        addWeighted(objective, skillRange(1.0, 3.0), weight(props, PREFIX + "skillRange", 1.0));
+        addWeighted(objective, roleCoverage(), weight(props, PREFIX + "roleCoverage", 0.0));
+        addWeighted(objective, gameDiversity(), weight(props, PREFIX + "gameDiversity", 0.0));
+        addWeighted(objective, skillVariance(), weight(props, PREFIX + "skillVariance", 0.0));
+        addWeighted(objective, personalityScoreSpread(), weight(props, PREFIX + "personalityScoreSpread", 0.0));
+        log.info("Swap objective weights loaded: " + props.stringPropertyNames().stream()
+                .filter(k -> k.startsWith(PREFIX)).sorted().map(k -> k + "=" + props.getProperty(k)).toList());
+        return objective;
+    }
+
+    private static void addWeighted(WeightedObjective objective, SwapObjective part, double weight) {
+        if (weight != 0.0) objective.add(part, weight);
+    }
+
+    /** The objective configured in a properties file, or the standard one if the file is missing or unreadable */
+    public static SwapObjective loadOrStandard(TeamRules rules, Path file) {
+        if (!Files.isRegularFile(file)) return standard(rules);
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            log.warning("Could not read objective weights from " + file + ", using the standard objective: "
+                    + e.getMessage());
+            return standard(rules);
+        }
+        return fromProperties(rules, props);
+    }
+
+    private static double weight(Properties props, String key, double defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    /** The balancer's original scoring: weighted rule violations plus skill range beyond 1.0 */
+    public static SwapObjective standard(TeamRules rules) {
+        return new WeightedObjective()
+                .add(ruleViolations(rules), 1.0)
+                .add(skillRange(1.0, 3.0), 1.0);
+    }
+
+    /** Default weight of each rule violation, one charge per violated rule type per team */
+    public static Map<Violation, Double> defaultViolationWeights() {
+        Map<Violation, Double> weights = new EnumMap<>(Violation.class);
+        weights.put(Violation.NOT_ENOUGH_LEADERS, 15.0);
+        weights.put(Violation.TOO_MANY_LEADERS, 8.0);
+        weights.put(Violation.TOO_MANY_THINKERS, 6.0);
+        weights.put(Violation.NOT_ENOUGH_THINKERS, 5.0);
+        weights.put(Violation.GAME_OVERFLOW, 7.0);
+        weights.put(Violation.LOW_ROLE_DIVERSITY, 10.0);
+        weights.put(Violation.ROLE_CAP, 7.0);
+        weights.put(Violation.GAME_MINIMUM, 5.0);
+        weights.put(Violation.SKILL_FLOOR, 4.0);
+        return weights;
+    }
+
+    public static SwapObjective ruleViolations(TeamRules rules) {
+        return ruleViolations(rules, defaultViolationWeights());
+    }
+
+    /** Sum over teams of the weights of the rule types each team violates */
+    public static SwapObjective ruleViolations(TeamRules rules, Map<Violation, Double> weights) {
+        CompiledRules checks = rules.compiled();
+        double[] weightOf = new double[Violation.values().length];
+        weights.forEach((v, w) -> weightOf[v.ordinal()] = w);
+
+        return teams -> new CounterEvaluation(teams, counters -> {
+            boolean[] seen = new boolean[weightOf.length];
+            double penalty = 0.0;
+            for (int i = 0; i < checks.size(); i++) {
+                int v = checks.violation(i).ordinal();
+                if (!seen[v] && !checks.passes(i, counters)) {
+                    seen[v] = true;
+                    penalty += weightOf[v];
+                }
+            }
+            return penalty;
+        });
+    }
+
+    /** Missing roles summed over teams */
+    public static SwapObjective roleCoverage() {
+        int roles = Role.values().length;
+        return teams -> new CounterEvaluation(teams, counters -> roles - counters[CompiledRules.DISTINCT_ROLES]);
+    }
+
+    /** Repeated game preferences summed over teams (team size minus distinct games) */
+    public static SwapObjective gameDiversity() {
+        int games = Game.values().length;
+        return teams -> new CounterEvaluation(teams, counters -> {
+            int distinct = 0;
+            for (int g = 0; g < games; g++) {
+                if (counters[CompiledRules.GAME_OFFSET + g] > 0) distinct++;
+            }
+            return counters[CompiledRules.SIZE] - distinct;
+        });
+    }
+
+    /**
+     * Range of team skill averages beyond a tolerance, times perPoint per team.
+     * With (1.0, 3.0) this is the balancer's original skill imbalance penalty.
+     */
+    public static SwapObjective skillRange(double tolerance, double perPoint) {
+        return teams -> {
+            TeamSkillHeap averages = TeamSkillHeap.fromTeams(teams);
+            MeanEvaluation skill = new MeanEvaluation(teams, Player::getSkillLevel);
+            int n = teams.size();
+            return new SwapObjective.Evaluation() {
+                @Override
+                public double value() {
+                    return penalty(averages.range());
+                }
+
+                @Override
+                public double valueAfterSwap(int teamA, Player outOfA, int teamB, Player outOfB) {
+                    return penalty(averages.rangeWith(teamA, skill.meanAfter(teamA, outOfA, outOfB),
+                            teamB, skill.meanAfter(teamB, outOfB, outOfA)));
+                }
+
+                private double penalty(double range) {
+                    return range > tolerance ? (range - tolerance) * perPoint * n : 0.0;
+                }
+            };
+        };
+    }
+
+    /** Population variance of team skill averages */
+    public static SwapObjective skillVariance() {
+        return teams -> new MeanEvaluation(teams, Player::getSkillLevel);
+    }
+
+    /** Population variance of team average personality scores */
+    public static SwapObjective personalityScoreSpread() {
+        return teams -> new MeanEvaluation(teams, Player::getPersonalityScore);
+    }
+
+    /** Sum of a per-team penalty computed from the team's rule counters */
+    private static class CounterEvaluation implements SwapObjective.Evaluation {
+        private final ToDoubleFunction<int[]> teamPenalty;
+        private final int[][] counters;
+        private final double[] penalty;
+        private double total;
+
+        CounterEvaluation(List<Team> teams, ToDoubleFunction<int[]> teamPenalty) {
+            this.teamPenalty = teamPenalty;
+            counters = new int[teams.size()][];
+            penalty = new double[teams.size()];
+            for (int t = 0; t < counters.length; t++) {
+                counters[t] = CompiledRules.count(teams.get(t).getMembers());
+                penalty[t] = teamPenalty.applyAsDouble(counters[t]);
+                total += penalty[t];
+            }
+        }
+
+        @Override
+        public double value() {
+            return total;
+        }
+
+        @Override
+        public double valueAfterSwap(int teamA, Player outOfA, int teamB, Player outOfB) {
+            return total - penalty[teamA] - penalty[teamB]
+                    + penaltyAfter(counters[teamA], outOfA, outOfB)
+                    + penaltyAfter(counters[teamB], outOfB, outOfA);
+        }
+
+        /** Applies the swap to the counters, measures, and restores them */
+        private double penaltyAfter(int[] c, Player out, Player in) {
+            CompiledRules.remove(c, out);
+            CompiledRules.add(c, in);
+            double p = teamPenalty.applyAsDouble(c);
+            CompiledRules.remove(c, in);
+            CompiledRules.add(c, out);
+            return p;
+        }
+    }
+
+    /** Population variance of team means of a player attribute, kept as running sums */
+    private static class MeanEvaluation implements SwapObjective.Evaluation {
+        private final ToIntFunction<Player> attribute;
+        private final int[] sum;
+        private final int[] size;
+        private final double[] mean;
+        private double sumMeans;
+        private double sumSquares;
+
+        MeanEvaluation(List<Team> teams, ToIntFunction<Player> attribute) {
+            this.attribute = attribute;
+            int n = teams.size();
+            sum = new int[n];
+            size = new int[n];
+            mean = new double[n];
+            for (int t = 0; t < n; t++) {
+                for (Player p : teams.get(t).getMembers()) sum[t] += attribute.applyAsInt(p);
+                size[t] = teams.get(t).getMembers().size();
+                mean[t] = size[t] == 0 ? 0.0 : (float) sum[t] / size[t];
+                sumMeans += mean[t];
+                sumSquares += mean[t] * mean[t];
+            }
+        }
+
+        /** Team mean with out replaced by in, rounded like Team.getTotalSkillAvg */
+        double meanAfter(int team, Player out, Player in) {
+            if (size[team] == 0) return 0.0;
+            return (float) (sum[team] - attribute.applyAsInt(out) + attribute.applyAsInt(in)) / size[team];
+        }
+
+        @Override
+        public double value() {
+            return variance(sumMeans, sumSquares);
+        }
+
+        @Override
+        public double valueAfterSwap(int teamA, Player outOfA, int teamB, Player outOfB) {
+            double a = meanAfter(teamA, outOfA, outOfB);
+            double b = meanAfter(teamB, outOfB, outOfA);
+            return variance(sumMeans - mean[teamA] - mean[teamB] + a + b,
+                    sumSquares - mean[teamA] * mean[teamA] - mean[teamB] * mean[teamB] + a * a + b * b);
+        }
+
+        private double variance(double s1, double s2) {
+            int n = mean.length;
+            if (n == 0) return 0.0;
+            double m = s1 / n;
+            return Math.max(0.0, s2 / n - m * m);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package smartTeamMate.service;
 
+import smartTeamMate.model.Personality;
+
 import java.util.List;
 import java.util.logging.Logger;
 
 public class PersonalityClassifier {
 
     private static final Logger log = Logger.getLogger(PersonalityClassifier.class.getName());
+    /** Number of Likert questions in the survey */
+    public static final int QUESTIONS = 5;
     private static final int MULTIPLIER = 4;
     private static final int LEADER_THRESHOLD = 90;
     private static final int BALANCED_THRESHOLD = 70;
@@ -19,16 +23,16 @@ public class PersonalityClassifier {
         log.fine("Total score (after multiplier): " + totalScore);
 
         // Determine classification
-        String classificationType;
+        Personality classificationType;
 
         if (totalScore >= LEADER_THRESHOLD) {
-            classificationType = "Leader";
+            classificationType = Personality.LEADER;
             log.fine("Classification selected: Leader (>= " + LEADER_THRESHOLD + ")");
         } else if (totalScore >= BALANCED_THRESHOLD) {
-            classificationType = "Balanced";
+            classificationType = Personality.BALANCED;
             log.fine("Classification selected: Balanced (>= " + BALANCED_THRESHOLD + ")");
         } else {
-            classificationType = "Thinker";
+            classificationType = Personality.THINKER;
             log.fine("Classification selected: Thinker (< " + BALANCED_THRESHOLD + ")");
         }
 
@@ -0,0 +1,88 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+
+import java.util.*;
+
+/**
+ * Pool of unassigned players used by the TeamBuilder repair phase.
+ *
+ * Players are kept in one bucket per personality. Membership is identity based and
+ * removal swaps the last element of the bucket into the freed slot, so contains,
+ * add and remove are all O(1) and no per-round refiltering is needed.
+ */
+public class PlayerPool {
+
+    public static final int LEADER = Personality.LEADER.ordinal();
+    public static final int THINKER = Personality.THINKER.ordinal();
+    public static final int BALANCED = Personality.BALANCED.ordinal();
+
+    private final List<List<Player>> buckets = new ArrayList<>(Personality.values().length);
+    private final IdentityHashMap<Player, Integer> positions = new IdentityHashMap<>();
+
+    public PlayerPool() {
+        for (int i = 0; i < Personality.values().length; i++) buckets.add(new ArrayList<>());
+    }
+
+    public PlayerPool(Collection<Player> players) {
+        this();
+        players.forEach(this::add);
+    }
+
+    public static int personalityIndex(Player p) {
+        return p.getPersonality().ordinal();
+    }
+
+    public void add(Player p) {
+        if (positions.containsKey(p)) return;
+        List<Player> bucket = buckets.get(personalityIndex(p));
+        positions.put(p, bucket.size());
+        bucket.add(p);
+    }
+
+    public boolean contains(Player p) {
+        return positions.containsKey(p);
+    }
+
+    public boolean remove(Player p) {
+        Integer pos = positions.remove(p);
+        if (pos == null) return false;
+
+        List<Player> bucket = buckets.get(personalityIndex(p));
+        Player last = bucket.remove(bucket.size() - 1);
+        if (last != p) {
+            bucket.set(pos, last);
+            positions.put(last, pos);
+        }
+        return true;
+    }
+
+    public void removeAll(Collection<Player> players) {
+        for (Player p : players) remove(p);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public int size(int personality) {
+        return buckets.get(personality).size();
+    }
+
+    /** Player at a position within a personality bucket; positions change after removals */
+    public Player get(int personality, int index) {
+        return buckets.get(personality).get(index);
+    }
+
+    /** Copy of one personality bucket, safe to iterate while the pool changes */
+    public List<Player> snapshot(int personality) {
+        return new ArrayList<>(buckets.get(personality));
+    }
+
+    public List<Player> toList() {
+        List<Player> all = new ArrayList<>(size());
+        buckets.forEach(all::addAll);
+        return all;
+    }
+}
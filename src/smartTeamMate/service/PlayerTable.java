@@ -0,0 +1,219 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structure-of-arrays view of a team formation for optimisation kernels.
+ *
+ * Player attributes live in parallel primitive arrays (skill, personality code, role and
+ * game ordinals) and each team is an int[] slice of player indices, with running skill
+ * sums and rule counters per team built from those columns. Inner loops therefore compare
+ * small integers instead of calling getters, and a validity check is one pass over the
+ * compiled rules instead of a recount of the members. Changes are written back with
+ * {@link #writeBack}.
+ *
+ * The deterministic tightening pass ({@link SkillTightener}) and the random swaps in
+ * {@link SkillBalancer} run on the table. Methods are not synchronized: concurrent callers
+ * must hold a lock for every team they read or change.
+ */
+public class PlayerTable {
+
+    public static final byte LEADER = (byte) Personality.LEADER.ordinal();
+    public static final byte THINKER = (byte) Personality.THINKER.ordinal();
+    public static final byte BALANCED = (byte) Personality.BALANCED.ordinal();
+
+    private final Player[] players;
+    private final int[] skill;
+    private final byte[] personality;
+    private final byte[] role;
+    private final byte[] game;
+
+    private final int[] members;      // player indices, grouped by team
+    private final int[] teamStart;    // team t occupies members[teamStart[t] .. teamStart[t + 1])
+    private final int[] teamSkillSum;
+    private final int[][] teamCounters;  // CompiledRules counter vector per team
+    private TeamSkillHeap averages;
+
+    private PlayerTable(int playerCount, int teamCount) {
+        this.players = new Player[playerCount];
+        this.skill = new int[playerCount];
+        this.personality = new byte[playerCount];
+        this.role = new byte[playerCount];
+        this.game = new byte[playerCount];
+        this.members = new int[playerCount];
+        this.teamStart = new int[teamCount + 1];
+        this.teamSkillSum = new int[teamCount];
+        this.teamCounters = new int[teamCount][];
+    }
+
+    /**
+     * Builds a table from teams. Each distinct player gets one row; a player appearing in
+     * several teams (matched by identity) fills a slot in each of them that points at that row.
+     */
+    public static PlayerTable fromTeams(List<Team> teams) {
+        int total = 0;
+        for (Team t : teams) total += t.getMembers().size();
+
+        PlayerTable table = new PlayerTable(total, teams.size());
+        Map<Player, Integer> rows = new IdentityHashMap<>();
+        int slot = 0;
+        int row = 0;
+        for (int t = 0; t < teams.size(); t++) {
+            table.teamStart[t] = slot;
+            table.teamCounters[t] = CompiledRules.newCounters();
+            for (Player p : teams.get(t).getMembers()) {
+                Integer existing = rows.get(p);
+                int index;
+                if (existing == null) {
+                    index = row++;
+                    rows.put(p, index);
+                    table.setRow(index, p);
+                } else {
+                    index = existing;
+                }
+                table.members[slot++] = index;
+                table.teamSkillSum[t] += table.skill[index];
+                table.addTo(table.teamCounters[t], index);
+            }
+        }
+        table.teamStart[teams.size()] = slot;
+
+        double[] avg = new double[teams.size()];
+        for (int t = 0; t < avg.length; t++) avg[t] = table.teamAverage(t);
+        table.averages = new TeamSkillHeap(avg);
+        return table;
+    }
+
+    private void setRow(int i, Player p) {
+        players[i] = p;
+        skill[i] = p.getSkillLevel();
+        personality[i] = (byte) p.getPersonality().ordinal();
+        role[i] = (byte) p.getPreferredRole().ordinal();
+        game[i] = (byte) p.getPreferredGame().ordinal();
+    }
+
+    private void addTo(int[] counters, int player) {
+        CompiledRules.add(counters, personality[player], game[player], role[player], skill[player]);
+    }
+
+    private void removeFrom(int[] counters, int player) {
+        CompiledRules.remove(counters, personality[player], game[player], role[player], skill[player]);
+    }
+
+    public int teamCount() {
+        return teamSkillSum.length;
+    }
+
+    public int teamSize(int team) {
+        return teamStart[team + 1] - teamStart[team];
+    }
+
+    /** Player index held in a team slot */
+    public int member(int team, int slot) {
+        return members[teamStart[team] + slot];
+    }
+
+    public int skill(int player) {
+        return skill[player];
+    }
+
+    public byte personality(int player) {
+        return personality[player];
+    }
+
+    public byte role(int player) {
+        return role[player];
+    }
+
+    public byte game(int player) {
+        return game[player];
+    }
+
+    public Player player(int player) {
+        return players[player];
+    }
+
+    public int teamSkillSum(int team) {
+        return teamSkillSum[team];
+    }
+
+    public double teamAverage(int team) {
+        int size = teamSize(team);
+        return size == 0 ? 0.0 : teamSkillSum[team] / (double) size;
+    }
+
+    /** Swaps the players in two team slots and updates both skill sums */
+    public void swap(int teamA, int slotA, int teamB, int slotB) {
+        int ia = teamStart[teamA] + slotA;
+        int ib = teamStart[teamB] + slotB;
+        int pa = members[ia];
+        int pb = members[ib];
+        members[ia] = pb;
+        members[ib] = pa;
+        int delta = skill[pb] - skill[pa];
+        teamSkillSum[teamA] += delta;
+        teamSkillSum[teamB] -= delta;
+        if (teamA != teamB) {
+            removeFrom(teamCounters[teamA], pa);
+            addTo(teamCounters[teamA], pb);
+            removeFrom(teamCounters[teamB], pb);
+            addTo(teamCounters[teamB], pa);
+            averages.update(teamA, teamAverage(teamA));
+            averages.update(teamB, teamAverage(teamB));
+        }
+    }
+
+    /** Whether a team passes the compiled rules */
+    public boolean isValid(int team, CompiledRules checks) {
+        return checks.test(teamCounters[team]);
+    }
+
+    /** Whether a team would pass the compiled rules with the player in one slot replaced by incoming */
+    public boolean isValidWith(int team, int slot, int incoming, CompiledRules checks) {
+        int[] counters = teamCounters[team];
+        int outgoing = member(team, slot);
+        removeFrom(counters, outgoing);
+        addTo(counters, incoming);
+        boolean valid = checks.test(counters);
+        removeFrom(counters, incoming);
+        addTo(counters, outgoing);
+        return valid;
+    }
+
+    /** Team with the highest average, or -1 when there are no teams */
+    public int highestTeam() {
+        return averages.highestTeam();
+    }
+
+    /** Team with the lowest average, or -1 when there are no teams */
+    public int lowestTeam() {
+        return averages.lowestTeam();
+    }
+
+    /** Max minus min team average */
+    public double skillRange() {
+        return averages.range();
+    }
+
+    /** Range if two teams had the given averages, leaving the table unchanged */
+    public double rangeWith(int teamA, double averageA, int teamB, double averageB) {
+        return averages.rangeWith(teamA, averageA, teamB, averageB);
+    }
+
+    /** Rewrites the member lists of the given teams (same order as fromTeams) from the table */
+    public void writeBack(List<Team> teams) {
+        for (int t = 0; t < teams.size(); t++) {
+            List<Player> list = teams.get(t).getMembers();
+            for (int k = 0; k < teamSize(t); k++) {
+                list.set(k, players[member(t, k)]);
+            }
+        }
+    }
+}
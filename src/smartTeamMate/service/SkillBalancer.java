@@ -1,43 +1,74 @@
 package smartTeamMate.service;
 
-import smartTeamMate.model.Player;
 import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * SkillBalancer (patched)
  *
- * - Multi-threaded skill tightening
- * - Atomic team swaps using double-locked swap-by-index
- * - Defensive null checks
- * - Revert logic on failure to prevent duplicates
+ * - Multi-threaded skill tightening on a PlayerTable
+ * - Swaps priced and applied under both teams' locks, taken in team index order
+ * - Validity checked through the table's per-team rule counters
  */
 public class SkillBalancer {
 
     private final TeamEvaluator evaluator;
     private final int threadCount;
+    private final int batchesPerRound;
     private final int attemptLimit;
     private final ExecutorService exec;
+    private final AtomicLong seedSequence;
+    private final SkillTightener tightener;
+    private final CompiledRules checks;
     private static final Logger log = Logger.getLogger(SkillBalancer.class.getName());
 
     public SkillBalancer(TeamEvaluator evaluator, int threadCount, int attemptLimit) {
+        this(evaluator, threadCount, attemptLimit, null);
+    }
+
+    /**
+     * @param seed base seed for the worker random streams, or null to use ThreadLocalRandom
+     */
+    public SkillBalancer(TeamEvaluator evaluator, int threadCount, int attemptLimit, Long seed) {
+        this(evaluator, threadCount, threadCount, attemptLimit, seed);
+    }
+
+    /**
+     * @param batchesPerRound random swap batches tried per round, run on threadCount threads;
+     *                        more batches per round converge further before a round finds nothing
+     */
+    public SkillBalancer(TeamEvaluator evaluator, int threadCount, int batchesPerRound, int attemptLimit, Long seed) {
         this.evaluator = evaluator;
         this.threadCount = Math.max(1, threadCount);
+        this.batchesPerRound = Math.max(1, batchesPerRound);
         this.attemptLimit = Math.max(200, attemptLimit);
         this.exec = Executors.newFixedThreadPool(this.threadCount);
+        this.seedSequence = seed == null ? null : new AtomicLong(seed);
+        this.tightener = new SkillTightener(evaluator.getRules(), log);
+        this.checks = evaluator.getRules().compiled();
 
-        log.info("SkillBalancer initialized with " + this.threadCount +
-                " threads and attempt limit " + this.attemptLimit);
+        log.info("SkillBalancer initialized with " + this.threadCount + " threads, "
+                + this.batchesPerRound + " batches per round and attempt limit " + this.attemptLimit);
     }
 
     /**
      * Tightens skill averages across the teams.
      */
     public List<Team> tightenValidTeamSkills(List<Team> teams, double maxRange, boolean stopEarly) {
+        return tightenValidTeamSkills(teams, maxRange, stopEarly, FormationControl.none());
+    }
+
+    /**
+     * Tightens skill averages, stopping early when the control is cancelled or past its deadline.
+     */
+    public List<Team> tightenValidTeamSkills(List<Team> teams, double maxRange, boolean stopEarly,
+                                             FormationControl control) {
 
         if (teams == null || teams.size() < 2) {
             log.warning("Not enough teams to balance. Returning input.");
@@ -46,10 +77,29 @@ public class SkillBalancer {
 
         log.info("Starting skill tightening process for " + teams.size() + " teams.");
 
+        // Deterministic extreme-pair pass first; random swaps then only polish what is left.
+        // Both run on one PlayerTable, which is written back to the teams when they are reported.
+        PlayerTable table = PlayerTable.fromTeams(teams);
+        int swaps = tightener.tighten(table, maxRange, attemptLimit, control);
+        if (swaps > 0) {
+            table.writeBack(teams);
+            control.checkpoint(FormationStage.TIGHTENING, teams);
+        }
+        log.info("Deterministic tightening applied " + swaps + " swaps.");
+
+        Object[] teamLocks = new Object[table.teamCount()];
+        for (int t = 0; t < teamLocks.length; t++) teamLocks[t] = new Object();
+        boolean swapped = false;
+
         try {
             for (int attempt = 0; attempt < attemptLimit; attempt++) {
 
-                double range = getSkillRange(teams);
+                if (control.shouldStop()) {
+                    log.info("Skill tightening stopped by control at attempt " + attempt + ".");
+                    break;
+                }
+
+                double range = table.skillRange();
                 log.fine("Attempt " + attempt + " | Current skill range: " + range);
 
                 if (stopEarly && range <= maxRange) {
@@ -59,8 +109,8 @@ public class SkillBalancer {
 
                 // Submit parallel tasks
                 List<Future<Boolean>> futures = new ArrayList<>();
-                for (int i = 0; i < threadCount; i++) {
-                    futures.add(exec.submit(() -> tryRandomSwapBatch(teams)));
+                for (int i = 0; i < batchesPerRound; i++) {
+                    futures.add(exec.submit(() -> tryRandomSwapBatch(table, teamLocks)));
                 }
 
                 boolean improved = false;
@@ -72,25 +122,38 @@ public class SkillBalancer {
                     log.info("No improvement from any thread — balancing converged.");
                     break;
                 }
+                swapped = true;
+                if (control.isCheckpointDue()) {
+                    table.writeBack(teams);
+                    control.checkpoint(FormationStage.TIGHTENING, teams);
+                }
             }
+        } catch (InterruptedException e) {
+            // Keep the flag so the caller's pipeline sees it and stops too
+            Thread.currentThread().interrupt();
+            log.info("Skill tightening interrupted; returning teams as they are.");
         } catch (Exception e) {
             // Log full stacktrace to find NPE origin
             log.log(Level.WARNING, "Skill tightening encountered an exception", e);
         }
+        // Batches that were interrupted finish their current swap, so the table is consistent
+        if (swapped) table.writeBack(teams);
 
-        log.info("Skill tightening completed. Final skill range: " + getSkillRange(teams));
+        log.info("Skill tightening completed. Final skill range: " + table.skillRange());
         return teams;
     }
 
     /**
      * A worker performs 20 random swap attempts.
      */
-    private boolean tryRandomSwapBatch(List<Team> teams) {
-        final Random r = ThreadLocalRandom.current();
+    private boolean tryRandomSwapBatch(PlayerTable table, Object[] teamLocks) {
+        final Random r = seedSequence == null
+                ? ThreadLocalRandom.current()
+                : new Random(seedSequence.getAndIncrement());
         boolean improved = false;
 
         for (int i = 0; i < 20; i++) {
-            if (tryRandomSwap(teams, r)) improved = true;
+            if (tryRandomSwap(table, teamLocks, r)) improved = true;
         }
 
         if (improved) {
@@ -101,141 +164,45 @@ public class SkillBalancer {
     }
 
     /**
-     * Try random swap between two teams — safe, atomic, and defensive.
+     * Random same-personality swap between two teams that does not widen their skill gap
+     * and keeps valid teams valid. Both teams' locks are held, taken in team index order,
+     * while the swap is priced and applied on the table.
      */
-    private boolean tryRandomSwap(List<Team> teams, Random r) {
-        if (teams.size() < 2) return false;
-
-        Team t1 = teams.get(r.nextInt(teams.size()));
-        Team t2 = teams.get(r.nextInt(teams.size()));
+    private boolean tryRandomSwap(PlayerTable table, Object[] teamLocks, Random r) {
+        int teamCount = table.teamCount();
+        int t1 = r.nextInt(teamCount);
+        int t2 = r.nextInt(teamCount);
         if (t1 == t2) return false;
-
-        List<Player> m1 = t1.getMembers();
-        List<Player> m2 = t2.getMembers();
-
-        if (m1.isEmpty() || m2.isEmpty()) return false;
-
-        Player p1 = m1.get(r.nextInt(m1.size()));
-        Player p2 = m2.get(r.nextInt(m2.size()));
-
-        // Defensive checks to avoid NPEs
-        if (p1 == null || p2 == null) return false;
-        String pt1 = p1.getPersonalityType();
-        String pt2 = p2.getPersonalityType();
-        if (pt1 == null || pt2 == null) return false;
-        if (!pt1.equalsIgnoreCase(pt2)) return false;
-
-        double before = Math.abs(t1.getTotalSkillAvg() - t2.getTotalSkillAvg());
-
-        // Acquire locks for both teams in consistent order to avoid deadlock
-        Object lockA = getLockForTeams(t1, t2)[0];
-        Object lockB = getLockForTeams(t1, t2)[1];
-
-        // We'll perform swap by replacing elements at indices (atomic at list level)
-        try {
-            synchronized (lockA) {
-                synchronized (lockB) {
-
-                    int idx1 = m1.indexOf(p1);
-                    int idx2 = m2.indexOf(p2);
-
-                    // sanity check: if an index has changed concurrently, abort
-                    if (idx1 < 0 || idx2 < 0) return false;
-
-                    // perform swap by index — atomic w.r.t lists (single set ops)
-                    try {
-                        m1.set(idx1, p2);
-                        m2.set(idx2, p1);
-                    } catch (RuntimeException re) {
-                        // try to revert if partial failure (very unlikely for arraylist set)
-                        log.log(Level.WARNING, "Runtime exception during index-set swap, attempting revert", re);
-                        // attempt revert safely if possible
-                        if (m1.size() > idx1 && m1.get(idx1) == p2) m1.set(idx1, p1);
-                        if (m2.size() > idx2 && m2.get(idx2) == p1) m2.set(idx2, p2);
-                        throw re;
-                    }
-                }
+        int size1 = table.teamSize(t1);
+        int size2 = table.teamSize(t2);
+        if (size1 == 0 || size2 == 0) return false;
+        int s1 = r.nextInt(size1);
+        int s2 = r.nextInt(size2);
+
+        synchronized (teamLocks[Math.min(t1, t2)]) {
+            synchronized (teamLocks[Math.max(t1, t2)]) {
+                int p1 = table.member(t1, s1);
+                int p2 = table.member(t2, s2);
+                if (table.personality(p1) != table.personality(p2)) return false;
+
+                int sum1 = table.teamSkillSum(t1);
+                int sum2 = table.teamSkillSum(t2);
+                int delta = table.skill(p2) - table.skill(p1);
+                double before = Math.abs(sum1 / (double) size1 - sum2 / (double) size2);
+                double after = Math.abs((sum1 + delta) / (double) size1 - (sum2 - delta) / (double) size2);
+                if (after > before) return false;
+
+                // Same personality keeps leader/thinker counts, but games and roles move too
+                if (table.isValid(t1, checks) && !table.isValidWith(t1, s1, p2, checks)) return false;
+                if (table.isValid(t2, checks) && !table.isValidWith(t2, s2, p1, checks)) return false;
+
+                table.swap(t1, s1, t2, s2);
+                log.fine("Swap improved skill difference: " + before + " → " + after);
+                return true;
             }
-
-            double after = Math.abs(t1.getTotalSkillAvg() - t2.getTotalSkillAvg());
-
-            // If swap is worse, revert (also locked)
-            if (after > before) {
-                synchronized (lockA) {
-                    synchronized (lockB) {
-                        int idx1 = m1.indexOf(p2); // p2 should be at idx1 now
-                        int idx2 = m2.indexOf(p1);
-                        if (idx1 >= 0) m1.set(idx1, p1);
-                        if (idx2 >= 0) m2.set(idx2, p2);
-                    }
-                }
-                return false;
-            }
-
-            log.fine("Swap improved skill difference: " + before + " → " + after);
-            return true;
-
-        } catch (Exception e) {
-            log.log(Level.WARNING, "Swap failed and was safely aborted", e);
-            // If exception occurred, we attempt best-effort revert inside synchronized block
-            try {
-                synchronized (lockA) {
-                    synchronized (lockB) {
-                        if (m1.contains(p1) && !m2.contains(p2)) {
-                            // already consistent
-                        } else {
-                            // restore by ensuring each team has correct player once if possible
-                            if (!m1.contains(p1)) {
-                                m1.add(p1);
-                            }
-                            if (!m2.contains(p2)) {
-                                m2.add(p2);
-                            }
-                            // remove any duplicates
-                            removeExtraInstances(m1, p2, p1);
-                            removeExtraInstances(m2, p1, p2);
-                        }
-                    }
-                }
-            } catch (Exception ex) {
-                log.log(Level.SEVERE, "Failed to revert after exception — manual inspection required", ex);
-            }
-            return false;
-        }
-    }
-
-    /** remove extra instances of old/new in list leaving only the wanted element */
-    private void removeExtraInstances(List<Player> list, Player toRemoveIfDuplicate, Player desired) {
-        // remove any accidental duplicates of toRemoveIfDuplicate, but keep one desired for desired
-        while (Collections.frequency(list, toRemoveIfDuplicate) > 0 && list.contains(desired)) {
-            list.remove(toRemoveIfDuplicate);
         }
     }
 
-    /**
-     * Determine lock ordering deterministically to avoid deadlocks.
-     * Returns array [firstLock, secondLock]
-     */
-    private Object[] getLockForTeams(Team a, Team b) {
-        // use identityHashCode for deterministic order
-        int ha = System.identityHashCode(a);
-        int hb = System.identityHashCode(b);
-        if (ha < hb) return new Object[]{a, b};
-        if (ha > hb) return new Object[]{b, a};
-        // rare collision; fall back to tie-breaker using System.nanoTime (but keep deterministic-ish)
-        // but better: use object toString comparator
-        if (a.toString().compareTo(b.toString()) <= 0) return new Object[]{a, b};
-        return new Object[]{b, a};
-    }
-
-    private double getSkillRange(List<Team> teams) {
-        if (teams == null || teams.isEmpty()) return 0.0;
-        DoubleSummaryStatistics stat = teams.stream()
-                .mapToDouble(Team::getTotalSkillAvg)
-                .summaryStatistics();
-        return stat.getMax() - stat.getMin();
-    }
-
     public void shutdown() {
         log.info("Shutting down SkillBalancer executor service.");
         exec.shutdown();
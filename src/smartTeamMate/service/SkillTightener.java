@@ -0,0 +1,186 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Personality;
+import smartTeamMate.rules.CompiledRules;
+import smartTeamMate.rules.TeamRules;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Deterministic skill tightening on a PlayerTable.
+ *
+ * Each step takes the highest and lowest team from the table's average heap and looks
+ * for the same-personality swap whose skill difference is closest to the one that would
+ * equalise the pair. Both teams' members are sorted by skill within each personality, so
+ * the search is a two-pointer walk instead of trying every pair. If that pair has no
+ * improving swap, the highest team is tried against the other teams from the lowest up,
+ * then the lowest team against the others from the highest down.
+ *
+ * Same-personality swaps keep leader and thinker counts, but games and roles move too,
+ * so a swap is rejected if it would make a valid team invalid.
+ */
+public class SkillTightener {
+
+    private static final int PERSONALITIES = Personality.values().length;
+
+    private final CompiledRules checks;
+    private final Logger log;
+
+    public SkillTightener(TeamRules rules) {
+        this(rules, Logger.getLogger(SkillTightener.class.getName()));
+    }
+
+    public SkillTightener(TeamRules rules, Logger log) {
+        this.checks = rules.compiled();
+        this.log = log;
+    }
+
+    /**
+     * Applies improving swaps until the range is within target, no swap lowers it,
+     * maxSwaps is reached or the control stops. Returns the number of swaps applied.
+     */
+    public int tighten(PlayerTable table, double targetRange, int maxSwaps, FormationControl control) {
+        if (table.teamCount() < 2) return 0;
+
+        int swaps = 0;
+        while (swaps < maxSwaps && table.skillRange() > targetRange && !control.shouldStop()) {
+            int[] swap = findImprovingSwap(table);
+            if (swap == null) break;
+            table.swap(swap[0], swap[1], swap[2], swap[3]);
+            swaps++;
+        }
+
+        log.fine("Deterministic tightening applied " + swaps + " swaps, range now "
+                + String.format("%.2f", table.skillRange()));
+        return swaps;
+    }
+
+    /** {teamA, slotA, teamB, slotB} of a swap that lowers the global range, or null */
+    private int[] findImprovingSwap(PlayerTable table) {
+        int high = table.highestTeam();
+        int low = table.lowestTeam();
+        double range = table.skillRange();
+
+        int[] swap = bestSwap(table, high, low, range);
+        if (swap != null) return swap;
+
+        Integer[] order = new Integer[table.teamCount()];
+        for (int t = 0; t < order.length; t++) order[t] = t;
+        Arrays.sort(order, (a, b) -> Double.compare(table.teamAverage(a), table.teamAverage(b)));
+
+        for (int i = 0; i < order.length; i++) {
+            int partner = order[i];
+            if (partner == high || partner == low) continue;
+            swap = bestSwap(table, high, partner, range);
+            if (swap != null) return swap;
+        }
+        for (int i = order.length - 1; i >= 0; i--) {
+            int partner = order[i];
+            if (partner == high || partner == low) continue;
+            swap = bestSwap(table, partner, low, range);
+            if (swap != null) return swap;
+        }
+        return null;
+    }
+
+    /**
+     * Best same-personality swap between an upper and a lower team that brings the global
+     * range below currentRange, or null.
+     */
+    private int[] bestSwap(PlayerTable table, int upper, int lower, double currentRange) {
+        int sizeU = table.teamSize(upper);
+        int sizeL = table.teamSize(lower);
+        if (sizeU == 0 || sizeL == 0) return null;
+
+        int sumU = table.teamSkillSum(upper);
+        int sumL = table.teamSkillSum(lower);
+        // Skill change d (incoming minus outgoing, for the upper team) that equalises both averages
+        double idealDelta = -(sumU / (double) sizeU - sumL / (double) sizeL)
+                / (1.0 / sizeU + 1.0 / sizeL);
+
+        boolean upperValid = table.isValid(upper, checks);
+        boolean lowerValid = table.isValid(lower, checks);
+        int[][] slotsU = slotsByPersonality(table, upper);
+        int[][] slotsL = slotsByPersonality(table, lower);
+
+        int[] best = null;
+        double bestRange = currentRange;
+
+        for (int p = 0; p < PERSONALITIES; p++) {
+            int[] us = slotsU[p];
+            int[] ls = slotsL[p];
+            if (us.length == 0 || ls.length == 0) continue;
+
+            // Both lists ascend by skill, so the lower-team skill closest to
+            // (upper skill + idealDelta) only moves right as the upper skill grows.
+            int j = 0;
+            for (int a : us) {
+                double wanted = table.skill(table.member(upper, a)) + idealDelta;
+                while (j + 1 < ls.length && table.skill(table.member(lower, ls[j + 1])) <= wanted) j++;
+
+                // Nearest candidates first, widening until one passes the validity checks
+                int left = j, right = j + 1;
+                while (left >= 0 || right < ls.length) {
+                    int b;
+                    if (right >= ls.length || (left >= 0
+                            && wanted - table.skill(table.member(lower, ls[left]))
+                            <= table.skill(table.member(lower, ls[right])) - wanted)) {
+                        b = ls[left--];
+                    } else {
+                        b = ls[right++];
+                    }
+
+                    int delta = table.skill(table.member(lower, b)) - table.skill(table.member(upper, a));
+                    double newRange = table.rangeWith(upper, (sumU + delta) / (double) sizeU,
+                            lower, (sumL - delta) / (double) sizeL);
+                    // Candidates further out only widen the gap between the pair
+                    if (newRange >= bestRange) break;
+                    if (keepsValidity(table, upper, a, lower, b, upperValid, lowerValid)) {
+                        bestRange = newRange;
+                        best = new int[]{upper, a, lower, b};
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Slots of a team grouped by personality, each group sorted by ascending skill */
+    private int[][] slotsByPersonality(PlayerTable table, int team) {
+        int size = table.teamSize(team);
+        int[] counts = new int[PERSONALITIES];
+        for (int s = 0; s < size; s++) counts[table.personality(table.member(team, s))]++;
+
+        int[][] slots = new int[PERSONALITIES][];
+        for (int p = 0; p < PERSONALITIES; p++) slots[p] = new int[counts[p]];
+        int[] fill = new int[PERSONALITIES];
+        for (int s = 0; s < size; s++) {
+            int p = table.personality(table.member(team, s));
+            slots[p][fill[p]++] = s;
+        }
+        for (int[] group : slots) {
+            // insertion sort: groups hold a handful of slots
+            for (int i = 1; i < group.length; i++) {
+                int slot = group[i];
+                int skill = table.skill(table.member(team, slot));
+                int k = i - 1;
+                while (k >= 0 && table.skill(table.member(team, group[k])) > skill) {
+                    group[k + 1] = group[k];
+                    k--;
+                }
+                group[k + 1] = slot;
+            }
+        }
+        return slots;
+    }
+
+    private boolean keepsValidity(PlayerTable table, int teamA, int slotA, int teamB, int slotB,
+                                  boolean validA, boolean validB) {
+        int incomingA = table.member(teamB, slotB);
+        int incomingB = table.member(teamA, slotA);
+        return (!validA || table.isValidWith(teamA, slotA, incomingA, checks))
+                && (!validB || table.isValidWith(teamB, slotB, incomingB, checks));
+    }
+}
@@ -0,0 +1,48 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits a cohort into shards whose personality, game, role and skill mix follows the whole cohort.
+ *
+ * Players are sorted by personality, game, role and skill and dealt to the shards in snake
+ * order (0..k-1, then k-1..0, and so on). Every k consecutive players go to k different
+ * shards, so a stratum of n players gives each shard between floor(n/k) - 1 and
+ * ceil(n/k) + 1 of them: its share to within two players, and within one when the stratum
+ * starts or ends on a pass boundary. The deal continues across stratum boundaries, and skill
+ * totals stay close because each pair of passes hands every shard one higher and one lower
+ * player.
+ */
+public class StratifiedSharder {
+
+    private static final Comparator<Player> STRATA = Comparator
+            .comparing(Player::getPersonality)
+            .thenComparing(Player::getPreferredGame)
+            .thenComparing(Player::getPreferredRole)
+            .thenComparingInt(Player::getSkillLevel);
+
+    /**
+     * Splits the players into shardCount shards whose sizes differ by at most one.
+     */
+    public List<List<Player>> split(List<Player> players, int shardCount) {
+        if (shardCount < 1) throw new IllegalArgumentException("shardCount must be positive");
+
+        List<Player> sorted = new ArrayList<>(players);
+        sorted.sort(STRATA);
+
+        List<List<Player>> shards = new ArrayList<>(shardCount);
+        for (int s = 0; s < shardCount; s++) shards.add(new ArrayList<>(players.size() / shardCount + 1));
+
+        for (int i = 0; i < sorted.size(); i++) {
+            int pass = i / shardCount;
+            int offset = i % shardCount;
+            int shard = pass % 2 == 0 ? offset : shardCount - 1 - offset;
+            shards.get(shard).add(sorted.get(i));
+        }
+        return shards;
+    }
+}
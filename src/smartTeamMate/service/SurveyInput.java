@@ -0,0 +1,108 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Role;
+import smartTeamMate.util.EnumLookup;
+
+import java.util.regex.Pattern;
+
+/**
+ * Pure survey input checks shared by the console survey, bulk import and any other
+ * front end. Nothing here reads input, prints or logs, and all state is immutable, so the
+ * methods are safe to call from any number of threads.
+ *
+ * Invalid input is signalled by a sentinel (-1 or null) rather than an exception, and each
+ * check also accepts a range of a larger CharSequence, so a CSV row can be validated in place.
+ * Numbers are parsed digit by digit, games and roles through {@link EnumLookup} tables, and
+ * the email pattern is compiled once.
+ */
+public final class SurveyInput {
+
+    public static final int MIN_SKILL = 1;
+    public static final int MAX_SKILL = 10;
+    public static final int MIN_ANSWER = 1;
+    public static final int MAX_ANSWER = 5;
+
+    /** Returned by the numeric checks for input that is not a number in range */
+    public static final int INVALID = -1;
+
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,4}$");
+    private static final EnumLookup<Game> GAMES = new EnumLookup<>(Game.values());
+    private static final EnumLookup<Role> ROLES = new EnumLookup<>(Role.values());
+
+    private SurveyInput() {
+    }
+
+    public static int skill(CharSequence s) {
+        return skill(s, 0, s.length());
+    }
+
+    /** Skill level in s[from, to), or INVALID */
+    public static int skill(CharSequence s, int from, int to) {
+        return intInRange(s, from, to, MIN_SKILL, MAX_SKILL);
+    }
+
+    public static int answer(CharSequence s) {
+        return answer(s, 0, s.length());
+    }
+
+    /** Likert answer in s[from, to), or INVALID */
+    public static int answer(CharSequence s, int from, int to) {
+        return intInRange(s, from, to, MIN_ANSWER, MAX_ANSWER);
+    }
+
+    public static Game game(CharSequence s) {
+        return GAMES.find(s);
+    }
+
+    /** Game named by s[from, to), ignoring case, whitespace and colons, or null */
+    public static Game game(CharSequence s, int from, int to) {
+        return GAMES.find(s, from, to);
+    }
+
+    public static Role role(CharSequence s) {
+        return ROLES.find(s);
+    }
+
+    /** Role named by s[from, to), ignoring case and whitespace, or null */
+    public static Role role(CharSequence s, int from, int to) {
+        return ROLES.find(s, from, to);
+    }
+
+    /** Whether the text, without surrounding whitespace, is a valid email address */
+    public static boolean isEmail(CharSequence s) {
+        return EMAIL.matcher(trim(s)).matches();
+    }
+
+    /** True if the input is a number, i.e. a failed numeric check was a range problem */
+    public static boolean isNumber(CharSequence s) {
+        CharSequence t = trim(s);
+        if (t.length() == 0 || t.length() > 9) return false;
+        for (int i = t.charAt(0) == '-' && t.length() > 1 ? 1 : 0; i < t.length(); i++) {
+            if (t.charAt(i) < '0' || t.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    private static int intInRange(CharSequence s, int from, int to, int min, int max) {
+        while (from < to && Character.isWhitespace(s.charAt(from))) from++;
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) to--;
+        // bounds are small positive numbers, so a few digits are enough and cannot overflow
+        if (from == to || to - from > 4) return INVALID;
+
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return INVALID;
+            value = value * 10 + digit;
+        }
+        return value >= min && value <= max ? value : INVALID;
+    }
+
+    private static CharSequence trim(CharSequence s) {
+        int from = 0, to = s.length();
+        while (from < to && Character.isWhitespace(s.charAt(from))) from++;
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) to--;
+        return from == 0 && to == s.length() ? s : s.subSequence(from, to);
+    }
+}
@@ -11,27 +11,78 @@ import java.util.logging.Logger;
 
 public class SurveyValidator {
 
-    private final Scanner sc = new Scanner(System.in);
+    private final Scanner sc;
     private final Logger logger = Logger.getLogger(SurveyValidator.class.getName());
 
+    public SurveyValidator() {
+        this(new Scanner(System.in));
+    }
+
+    /** Prompts read from the given scanner, e.g. the one the rest of the console already uses */
+    public SurveyValidator(Scanner sc) {
+        this.sc = sc;
+    }
+
+    // ========== NON-INTERACTIVE CHECKS ==========
+    // Throwing wrappers around SurveyInput: each returns the parsed value or throws
+    // IllegalArgumentException with a reason (NumberFormatException for non-numeric input).
+
+    public static int checkSkill(String input) {
+        int level = SurveyInput.skill(input);
+        if (level == SurveyInput.INVALID) {
+            throw numberError(input, "Skill must be between " + SurveyInput.MIN_SKILL + " and " + SurveyInput.MAX_SKILL);
+        }
+        return level;
+    }
+
+    public static Role checkRole(String input) {
+        Role role = SurveyInput.role(input);
+        if (role == null) throw new IllegalArgumentException("Unknown role: " + input);
+        return role;
+    }
+
+    public static Game checkGame(String input) {
+        Game game = SurveyInput.game(input);
+        if (game == null) throw new IllegalArgumentException("Unknown game: " + input);
+        return game;
+    }
+
+    public static String checkEmail(String input) {
+        if (!SurveyInput.isEmail(input)) throw new IllegalArgumentException("Invalid email format: " + input);
+        return input.trim();
+    }
+
+    public static int checkAnswer(String input) {
+        int answer = SurveyInput.answer(input);
+        if (answer == SurveyInput.INVALID) {
+            throw numberError(input, "Answer must be between " + SurveyInput.MIN_ANSWER + " and " + SurveyInput.MAX_ANSWER);
+        }
+        return answer;
+    }
+
+    private static IllegalArgumentException numberError(String input, String rangeMessage) {
+        return SurveyInput.isNumber(input)
+                ? new IllegalArgumentException(rangeMessage + ": " + input.trim())
+                : new NumberFormatException("For input string: \"" + input + "\"");
+    }
+
+    // ========== INTERACTIVE PROMPTS ==========
+
     public int skillValidator(String message) {
         logger.fine("Starting skill validation.");
         while (true) {
             try {
                 System.out.println(message);
-                int level = Integer.parseInt(sc.nextLine());
-
-                if (level >= 1 && level <= 10) {
-                    logger.info("Skill validated: " + level);
-                    return level;
-                }
-
-                logger.warning("Skill input out of range: " + level);
-                System.out.println("Please enter a number between 1 and 10:");
+                int level = checkSkill(sc.nextLine());
+                logger.info("Skill validated: " + level);
+                return level;
 
             } catch (NumberFormatException e) {
                 logger.warning("Non-numeric skill input: " + e.getMessage());
                 System.out.println("Invalid input");
+            } catch (IllegalArgumentException e) {
+                logger.warning(e.getMessage());
+                System.out.println("Please enter a number between 1 and 10:");
             }
         }
     }
@@ -41,9 +92,7 @@ public class SurveyValidator {
         while (true) {
             try {
                 System.out.print(message);
-                String roleInput = sc.nextLine().trim().toUpperCase();
-
-                Role role = Role.valueOf(roleInput);
+                Role role = checkRole(sc.nextLine());
                 logger.info("Role validated: " + role);
                 return role;
 
@@ -60,9 +109,7 @@ public class SurveyValidator {
         while (true) {
             try {
                 System.out.print(message);
-                String gameInput = sc.nextLine().trim().toUpperCase();
-
-                Game game = Game.valueOf(gameInput);
+                Game game = checkGame(sc.nextLine());
                 logger.info("Game validated: " + game);
                 return game;
 
@@ -78,15 +125,14 @@ public class SurveyValidator {
         logger.fine("Starting email validation.");
         while (true) {
             System.out.print(message);
-            String emailInput = sc.nextLine().trim();
-
-            if (emailInput.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,4}$")) {
+            try {
+                String emailInput = checkEmail(sc.nextLine());
                 logger.info("Email validated: " + emailInput);
                 return emailInput;
+            } catch (IllegalArgumentException e) {
+                logger.warning(e.getMessage());
+                System.out.println("Invalid email format. Try again.");
             }
-
-            logger.warning("Invalid email format: " + emailInput);
-            System.out.println("Invalid email format. Try again.");
         }
     }
 
@@ -115,20 +161,17 @@ public class SurveyValidator {
                     System.out.println("Q" + (i + 1) + ") " + questions.get(i));
                     System.out.println("Rate from 1 (Strongly Disagree) to 5 (Strongly Agree)::");
 
-                    answer = Integer.parseInt(sc.nextLine());
-
-                    if (answer >= 1 && answer <= 5) {
-                        responses.add(answer);
-                        logger.fine("Answer recorded for Q" + (i + 1) + ": " + answer);
-                        break;
-                    }
-
-                    logger.warning("Invalid range for Q" + (i + 1) + ": " + answer);
-                    System.out.println("Enter a number between 1 and 5");
+                    answer = checkAnswer(sc.nextLine());
+                    responses.add(answer);
+                    logger.fine("Answer recorded for Q" + (i + 1) + ": " + answer);
+                    break;
 
                 } catch (NumberFormatException e) {
                     logger.warning("Non-numeric survey input for Q" + (i + 1) + ": " + e.getMessage());
                     System.out.println("Invalid input");
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Invalid range for Q" + (i + 1) + ": " + e.getMessage());
+                    System.out.println("Enter a number between 1 and 5");
                 }
             }
         }
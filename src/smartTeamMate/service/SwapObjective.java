@@ -0,0 +1,30 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+
+import java.util.List;
+
+/**
+ * A formation penalty (lower is better) that can score a one-for-one swap incrementally.
+ *
+ * {@link #bind} summarises the formation once, in O(teams x team size); the returned
+ * evaluation then prices any swap from the two affected teams' summaries alone, so the
+ * balancer can compare thousands of candidates without re-evaluating the formation.
+ * Objectives are combined with {@link WeightedObjective}; see {@link Objectives} for the
+ * built-in ones.
+ */
+public interface SwapObjective {
+
+    /** Summarises the formation as it is now; the result is stale once any team changes */
+    Evaluation bind(List<Team> teams);
+
+    interface Evaluation {
+
+        /** Penalty of the bound formation */
+        double value();
+
+        /** Penalty if outOfA (in team teamA) and outOfB (in team teamB) changed places */
+        double valueAfterSwap(int teamA, Player outOfA, int teamB, Player outOfB);
+    }
+}
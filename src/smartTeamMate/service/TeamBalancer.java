@@ -20,23 +20,25 @@ public class TeamBalancer {
     private final TeamRules rules;
     private final Logger logger;
     private final int maxIterations;
-
-    private static final double WEIGHT_MISSING_LEADER = 15.0;
-    private static final double WEIGHT_TOO_MANY_LEADERS = 8.0;
-    private static final double WEIGHT_TOO_MANY_THINKERS = 6.0;
-    private static final double WEIGHT_NOT_ENOUGH_THINKERS = 5.0;
-    private static final double WEIGHT_GAME_OVERFLOW = 7.0;
-    private static final double WEIGHT_LOW_ROLE_DIVERSITY = 10.0;
-    private static final double WEIGHT_SKILL_IMBALANCE_PER_POINT = 3.0;
+    private final SwapObjective objective;
 
     public TeamBalancer(TeamEvaluator evaluator, TeamRules rules, int teamSize) {
         this(evaluator, rules, teamSize, Logger.getLogger(TeamBalancer.class.getName()));
     }
 
     public TeamBalancer(TeamEvaluator evaluator, TeamRules rules, int teamSize, Logger logger) {
+        this(evaluator, rules, teamSize, logger, Objectives.standard(rules));
+    }
+
+    /**
+     * @param objective penalty minimised by the greedy swaps; see {@link Objectives}
+     */
+    public TeamBalancer(TeamEvaluator evaluator, TeamRules rules, int teamSize, Logger logger,
+                        SwapObjective objective) {
         this.evaluator = evaluator;
         this.rules = rules;
         this.logger = logger;
+        this.objective = objective;
         this.maxIterations = Math.max(100, 5 * teamSize * 6);
 
         logger.info("TeamBalancer initialized. Max iterations: " + maxIterations);
@@ -44,6 +46,11 @@ public class TeamBalancer {
 
     /** Main method: balance teams */
     public List<Team> balance(List<Team> teams) {
+        return balance(teams, FormationControl.none());
+    }
+
+    /** Balance teams, stopping early when the control is cancelled or past its deadline */
+    public List<Team> balance(List<Team> teams, FormationControl control) {
         if (teams == null || teams.isEmpty()) {
             logger.warning("No teams provided to TeamBalancer. Returning input as-is.");
             return teams;
@@ -58,6 +65,11 @@ public class TeamBalancer {
 
         while (iter++ < maxIterations) {
 
+            if (control.shouldStop()) {
+                logger.info("Balancing stopped by control at iteration " + iter + ".");
+                break;
+            }
+
             if (evaluator.allTeamsValid(teams)) {
                 logger.info("All teams valid at iteration " + iter + ". Balancing complete.");
                 break;
@@ -65,7 +77,7 @@ public class TeamBalancer {
 
             logger.fine("Iteration " + iter + " - searching for best swap...");
 
-            Optional<SwapCandidate> opt = findBestSwap(teams, currentScore);
+            Optional<SwapCandidate> opt = findBestSwap(teams, currentScore, control);
 
             if (!opt.isPresent()) {
                 logger.info("No improving swap found at iteration " + iter + ". Stopping.");
@@ -81,6 +93,7 @@ public class TeamBalancer {
                 currentScore = best.getNewImbalance();
                 logger.fine("Swap applied successfully. Updated score: "
                         + String.format("%.2f", currentScore));
+                control.checkpoint(FormationStage.BALANCING, teams);
             } else {
                 logger.fine("Swap became invalid before applying — skipped.");
             }
@@ -96,50 +109,14 @@ public class TeamBalancer {
     private double calculateTotalImbalance(List<Team> teams) {
         logger.fine("Calculating total imbalance for teams...");
 
-        double score = 0.0;
-
-        for (Team t : teams) {
-            List<Player> snapshot = t.getMembers();
-            Team tmp = new Team(t.getName());
-            snapshot.forEach(tmp::addMember);
-
-            TeamIssues issues = evaluator.evaluate(tmp);
-            score += scoreFromIssues(issues);
-        }
-
-        score += skillImbalancePenalty(teams);
+        double score = objective.bind(teams).value();
 
         logger.fine("Total imbalance calculated: " + score);
         return score;
     }
 
-    private double scoreFromIssues(TeamIssues issues) {
-        double s = 0.0;
-        if (issues.notEnoughLeaders) s += WEIGHT_MISSING_LEADER;
-        if (issues.tooManyLeaders) s += WEIGHT_TOO_MANY_LEADERS;
-        if (issues.tooManyThinkers) s += WEIGHT_TOO_MANY_THINKERS;
-        if (issues.notEnoughThinkers) s += WEIGHT_NOT_ENOUGH_THINKERS;
-        if (issues.tooManyGamePlayers) s += WEIGHT_GAME_OVERFLOW;
-        if (issues.lowRoleDiversity) s += WEIGHT_LOW_ROLE_DIVERSITY;
-        return s;
-    }
-
-    private double skillImbalancePenalty(List<Team> teams) {
-        DoubleSummaryStatistics stat = teams.stream()
-                .mapToDouble(Team::getTotalSkillAvg)
-                .summaryStatistics();
-
-        double range = stat.getMax() - stat.getMin();
-        double penalty = range > 1.0
-                ? (range - 1.0) * WEIGHT_SKILL_IMBALANCE_PER_POINT * teams.size()
-                : 0.0;
-
-        logger.fine("Skill imbalance penalty computed: " + penalty);
-        return penalty;
-    }
-
-    /** Find the best swap among all team pairs */
-    private Optional<SwapCandidate> findBestSwap(List<Team> teams, double currentImbalance) {
+    /** Find the best swap among all team pairs; a stopped control ends the scan with the best found so far */
+    private Optional<SwapCandidate> findBestSwap(List<Team> teams, double currentImbalance, FormationControl control) {
         logger.fine("Searching best swap among all team pairs...");
 
         SwapCandidate best = null;
@@ -147,7 +124,15 @@ public class TeamBalancer {
 
         int n = teams.size();
 
+        // A swap only changes two teams: candidates are rejected from per-team rule counters,
+        // and survivors are priced incrementally by the objective bound to this formation.
+        TeamCounters[] counters = new TeamCounters[n];
         for (int i = 0; i < n; i++) {
+            counters[i] = new TeamCounters(teams.get(i), rules);
+        }
+        SwapObjective.Evaluation evaluation = objective.bind(teams);
+
+        for (int i = 0; i < n && !control.shouldStop(); i++) {
             for (int j = i + 1; j < n; j++) {
 
                 Team t1 = teams.get(i);
@@ -156,13 +141,13 @@ public class TeamBalancer {
                 for (Player p1 : t1.getMembers()) {
                     for (Player p2 : t2.getMembers()) {
 
-                        SwapCandidate cand = new SwapCandidate(t1, t2, p1, p2, teams, this);
+                        if (!counters[i].validAfterSwap(p1, p2) || !counters[j].validAfterSwap(p2, p1)) continue;
 
-                        if (!cand.simulationKeepsValidator(evaluator)) continue;
+                        double newImbalance = evaluation.valueAfterSwap(i, p1, j, p2);
 
-                        if (cand.getNewImbalance() < bestScore) {
-                            bestScore = cand.getNewImbalance();
-                            best = cand;
+                        if (newImbalance < bestScore) {
+                            bestScore = newImbalance;
+                            best = new SwapCandidate(t1, t2, p1, p2, newImbalance);
                         }
                     }
                 }
@@ -185,30 +170,12 @@ public class TeamBalancer {
         private final Player p1, p2;
         private final double newImbalance;
 
-        SwapCandidate(Team t1, Team t2, Player p1, Player p2,
-                      List<Team> allTeams, TeamBalancer balancer) {
-
+        SwapCandidate(Team t1, Team t2, Player p1, Player p2, double newImbalance) {
             this.t1 = t1;
             this.t2 = t2;
             this.p1 = p1;
             this.p2 = p2;
-
-            // Snapshots
-            List<Player> t1Snap = new ArrayList<>(t1.getMembers());
-            List<Player> t2Snap = new ArrayList<>(t2.getMembers());
-
-            t1Snap.remove(p1); t1Snap.add(p2);
-            t2Snap.remove(p2); t2Snap.add(p1);
-
-            List<Team> snapshotTeams = new ArrayList<>();
-            for (Team t : allTeams) {
-                Team tmp = new Team(t.getName());
-                List<Player> snap = (t == t1) ? t1Snap : (t == t2) ? t2Snap : t.getMembers();
-                snap.forEach(tmp::addMember);
-                snapshotTeams.add(tmp);
-            }
-
-            this.newImbalance = balancer.calculateTotalImbalance(snapshotTeams);
+            this.newImbalance = newImbalance;
         }
 
         double getNewImbalance() {
@@ -233,20 +200,5 @@ public class TeamBalancer {
 
             return ok;
         }
-
-        /** Simulate swap on temporary teams */
-        boolean simulationKeepsValidator(TeamEvaluator evaluator) {
-            Team s1 = new Team("sim1");
-            for (Player pl : t1.getMembers())
-                if (!pl.equals(p1)) s1.addMember(pl);
-            s1.addMember(p2);
-
-            Team s2 = new Team("sim2");
-            for (Player pl : t2.getMembers())
-                if (!pl.equals(p2)) s2.addMember(pl);
-            s2.addMember(p1);
-
-            return evaluator.teamValidator(s1) && evaluator.teamValidator(s2);
-        }
     }
 }
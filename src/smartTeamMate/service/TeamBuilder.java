@@ -1,10 +1,14 @@
 package smartTeamMate.service;
 
+import smartTeamMate.model.Personality;
 import smartTeamMate.model.Player;
 import smartTeamMate.model.Team;
 import smartTeamMate.rules.TeamRules;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -13,21 +17,71 @@ public class TeamBuilder{
     private final TeamRules rules;
     private final TeamEvaluator evaluator;
     private final SkillBalancer skillBalancer;
+    private final ConstructionStrategy strategy;
+    private final int repairShards;
     private final Logger logger;
+    private final Random random;
+    private final SkillTightener tightener;
+    private final SwapObjective objective;
 
     private final int maxAttemptsPerLeader = 3;
     private final int maxBuildRounds = 50;
     private final double skillTightenRange = 0.5;
 
     public TeamBuilder(TeamRules rules, TeamEvaluator evaluator, SkillBalancer skillBalancer) {
+        this(rules, evaluator, skillBalancer, ConstructionStrategy.PERSONALITY_SNAKE);
+    }
+
+    public TeamBuilder(TeamRules rules, TeamEvaluator evaluator, SkillBalancer skillBalancer,
+                       ConstructionStrategy strategy) {
+        this(rules, evaluator, skillBalancer, strategy, 1);
+    }
+
+    /**
+     * @param repairShards number of shards the invalid-player pool is split into and repaired
+     *                     concurrently; 1 keeps the repair phase sequential
+     */
+    public TeamBuilder(TeamRules rules, TeamEvaluator evaluator, SkillBalancer skillBalancer,
+                       ConstructionStrategy strategy, int repairShards) {
+        this(rules, evaluator, skillBalancer, strategy, repairShards, new Random());
+    }
+
+    public TeamBuilder(TeamRules rules, TeamEvaluator evaluator, SkillBalancer skillBalancer,
+                       ConstructionStrategy strategy, int repairShards, Random random) {
+        this(rules, evaluator, skillBalancer, strategy, repairShards, random, Objectives.standard(rules));
+    }
+
+    /**
+     * @param objective what the balancing during construction and repair minimises
+     */
+    public TeamBuilder(TeamRules rules, TeamEvaluator evaluator, SkillBalancer skillBalancer,
+                       ConstructionStrategy strategy, int repairShards, Random random, SwapObjective objective) {
         this.rules = rules;
+        this.objective = objective;
         this.evaluator = evaluator;
         this.skillBalancer = skillBalancer;
+        this.strategy = strategy;
+        this.repairShards = Math.max(1, repairShards);
+        this.random = random;
         this.logger = Logger.getLogger(this.getClass().getName());
+        this.tightener = new SkillTightener(rules, logger);
     }
 
     public List<Team> buildTeams(List<Player> players, int teamSize) {
-        TeamBalancer balancer = new TeamBalancer(evaluator,rules,teamSize);
+        return buildTeams(players, teamSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Builds teams, stopping the repair phase once maxValidTeams valid teams exist
+     * (the bound reported by FeasibilityAnalyzer).
+     */
+    public List<Team> buildTeams(List<Player> players, int teamSize, int maxValidTeams) {
+        return buildTeams(players, teamSize, maxValidTeams, FormationControl.none());
+    }
+
+    /** As above, abandoning further repair attempts once the control asks to stop */
+    public List<Team> buildTeams(List<Player> players, int teamSize, int maxValidTeams, FormationControl control) {
+        TeamBalancer balancer = newBalancer(teamSize);
         if (players == null) return Collections.emptyList();
 
         logger.info("Building initial teams with " + players.size() + " players and team size " + teamSize);
@@ -45,40 +99,83 @@ public class TeamBuilder{
 
         if (invalidTeams.isEmpty()) return initial;
 
-        List<Player> pool = invalidTeams.stream()
-                .flatMap(t -> t.getMembers().stream())
-                .collect(Collectors.toCollection(ArrayList::new));
+        int validInitial = initial.size() - invalidTeams.size();
+        if (validInitial >= maxValidTeams) {
+            logger.info("Feasibility bound of " + maxValidTeams + " reached by initial teams, skipping repair.");
+            return initial;
+        }
 
-        pool.sort(Comparator.comparingInt(this::priorityScore).reversed());
+        List<Player> ordered = invalidTeams.stream()
+                .flatMap(t -> t.getMembers().stream())
+                .sorted(Comparator.comparingInt(this::priorityScore).reversed())
+                .collect(Collectors.toList());
+        PlayerPool pool = new PlayerPool(ordered);
         logger.info("Pool of players for repaired teams: " + pool.size());
 
+        AtomicInteger budget = new AtomicInteger(maxValidTeams == Integer.MAX_VALUE
+                ? Integer.MAX_VALUE : maxValidTeams - validInitial);
+        List<Team> repaired = repairShards > 1 && pool.size() >= repairShards * teamSize * 2
+                ? repairInParallel(pool, teamSize, budget, control)
+                : repairPool(pool, teamSize, balancer, budget, control);
+
+        if (!repaired.isEmpty()) {
+            logger.info("Final balancing of " + repaired.size() + " repaired teams.");
+            balancer.balance(repaired, control);
+            skillBalancer.tightenValidTeamSkills(repaired, skillTightenRange, true, control);
+        }
+
+        TeamEvaluator finalEval = new TeamEvaluator(rules);
+        List<Team> validRepaired = repaired.stream().filter(finalEval::teamValidator).collect(Collectors.toList());
+        logger.info("Valid repaired teams: " + validRepaired.size());
+
+        // Valid initial and repaired teams, plus everyone still unplaced, so no player is in two teams.
+        List<Team> combined = new ArrayList<>(initial);
+        combined.removeAll(invalidTeams);
+        combined.addAll(validRepaired);
+
+        Set<Player> placed = Collections.newSetFromMap(new IdentityHashMap<>());
+        validRepaired.forEach(t -> placed.addAll(t.getMembers()));
+        List<Player> unplaced = ordered.stream().filter(p -> !placed.contains(p)).collect(Collectors.toList());
+        for (int i = 0; i < unplaced.size(); i += teamSize) {
+            Team rest = new Team("Team " + (combined.size() + 1));
+            unplaced.subList(i, Math.min(unplaced.size(), i + teamSize)).forEach(rest::addMember);
+            combined.add(rest);
+        }
+
+        logger.info("Total teams after building and repairing: " + combined.size());
+        return combined;
+    }
+
+    /**
+     * Forms valid teams from the pool, leaving unused players in it.
+     * Each team formed consumes one unit of the shared budget.
+     */
+    private List<Team> repairPool(PlayerPool pool, int teamSize, TeamBalancer balancer, AtomicInteger budget,
+                                  FormationControl control) {
         List<Team> repaired = new ArrayList<>();
         int rounds = 0;
 
-        while (pool.size() >= teamSize && rounds++ < maxBuildRounds) {
+        while (pool.size() >= teamSize && rounds++ < maxBuildRounds && budget.get() > 0 && !control.shouldStop()) {
             boolean createdThisRound = false;
 
-            List<Player> leaders = filterByPersonality(pool, "Leader");
-            List<Player> thinkers = filterByPersonality(pool, "Thinker");
-            List<Player> balanced = filterByPersonality(pool, "Balanced");
-
-            if (leaders.isEmpty()) {
+            if (pool.size(PlayerPool.LEADER) == 0) {
                 logger.warning("No leaders available in pool, cannot build more teams.");
                 break;
             }
 
-            for (Player leader : new ArrayList<>(leaders)) {
+            for (Player leader : pool.snapshot(PlayerPool.LEADER)) {
                 if (pool.size() < teamSize) break;
+                if (budget.get() <= 0 || control.shouldStop()) break;
                 boolean createdForThisLeader = false;
 
-                for (int attempt = 0; attempt < maxAttemptsPerLeader && pool.size() >= teamSize; attempt++) {
-                    Team candidate = buildCandidateTeamFromPool(pool, teamSize, leader);
+                for (int attempt = 0; attempt < maxAttemptsPerLeader && pool.size() >= teamSize && budget.get() > 0; attempt++) {
+                    Team candidate = buildCandidateTeamFromPool(pool, teamSize, leader, attempt);
                     if (candidate == null) {
                         logger.fine("Could not build candidate team for leader " + leader.getName());
                         break;
                     }
 
-                    if (evaluator.teamValidator(candidate)) {
+                    if (evaluator.teamValidator(candidate) && budget.getAndDecrement() > 0) {
                         repaired.add(candidate);
                         pool.removeAll(candidate.getMembers());
                         createdThisRound = true;
@@ -92,7 +189,7 @@ public class TeamBuilder{
                     balancer.balance(single);
                     skillBalancer.tightenValidTeamSkills(single, skillTightenRange, true);
 
-                    if (evaluator.teamValidator(candidate)) {
+                    if (evaluator.teamValidator(candidate) && budget.getAndDecrement() > 0) {
                         repaired.add(candidate);
                         pool.removeAll(candidate.getMembers());
                         createdThisRound = true;
@@ -101,8 +198,7 @@ public class TeamBuilder{
                         break;
                     }
 
-                    Collections.shuffle(pool);
-                    logger.fine("Attempt " + attempt + " failed, shuffled pool for leader " + leader.getName());
+                    logger.fine("Attempt " + attempt + " failed, rotating pool offsets for leader " + leader.getName());
                 }
 
                 if (!createdForThisLeader) {
@@ -117,38 +213,94 @@ public class TeamBuilder{
                 break;
             }
         }
+        return repaired;
+    }
 
-        if (!repaired.isEmpty()) {
-            logger.info("Final balancing of " + repaired.size() + " repaired teams.");
-            balancer.balance(repaired);
-            skillBalancer.tightenValidTeamSkills(repaired, skillTightenRange, true);
+    /**
+     * Splits the pool into shards with the same personality mix, repairs the shards
+     * concurrently and then runs one sequential pass over everyone left over.
+     */
+    private List<Team> repairInParallel(PlayerPool pool, int teamSize, AtomicInteger budget,
+                                        FormationControl control) {
+        int shardCount = Math.min(repairShards, Math.max(1, pool.size(PlayerPool.LEADER)));
+        List<PlayerPool> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) shards.add(new PlayerPool());
+
+        // Deal each personality bucket round-robin so every shard mirrors the pool's mix.
+        int next = 0;
+        for (int personality = PlayerPool.LEADER; personality <= PlayerPool.BALANCED; personality++) {
+            for (Player p : pool.snapshot(personality)) {
+                shards.get(next++ % shardCount).add(p);
+            }
         }
+        logger.info("Repairing " + pool.size() + " players in " + shardCount + " parallel shards.");
 
-        TeamEvaluator finalEval = new TeamEvaluator(rules);
-        List<Team> validRepaired = repaired.stream().filter(finalEval::teamValidator).collect(Collectors.toList());
-        logger.info("Valid repaired teams: " + validRepaired.size());
+        // A failed shard's teams are lost, so all of its players go back to the leftovers
+        List<List<Player>> members = new ArrayList<>(shardCount);
+        for (PlayerPool shard : shards) members.add(shard.toList());
 
-        List<Team> combined = new ArrayList<>(initial);
-        combined.addAll(validRepaired);
+        ExecutorService exec = Executors.newFixedThreadPool(shardCount);
+        List<Team> repaired = new ArrayList<>();
+        PlayerPool leftovers = new PlayerPool();
+        try {
+            List<Future<List<Team>>> futures = new ArrayList<>(shardCount);
+            for (PlayerPool shard : shards) {
+                futures.add(exec.submit(() ->
+                        repairPool(shard, teamSize, newBalancer(teamSize), budget, control)));
+            }
+            for (int i = 0; i < shardCount; i++) {
+                List<Player> remaining;
+                try {
+                    repaired.addAll(futures.get(i).get());
+                    remaining = shards.get(i).toList();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.get(i).cancel(true);
+                    logger.warning("Parallel repair interrupted; shard " + i + " returned to the leftovers.");
+                    remaining = members.get(i);
+                } catch (ExecutionException e) {
+                    logger.log(Level.WARNING, "Parallel repair shard " + i + " failed", e.getCause());
+                    remaining = members.get(i);
+                }
+                remaining.forEach(leftovers::add);
+            }
+        } finally {
+            exec.shutdown();
+        }
 
-        logger.info("Total teams after building and repairing: " + combined.size());
-        return combined;
+        logger.info("Parallel shards repaired " + repaired.size() + " teams, " + leftovers.size() + " players left over.");
+
+        repaired.addAll(repairPool(leftovers, teamSize, newBalancer(teamSize), budget, control));
+        return repaired;
+    }
+
+    private TeamBalancer newBalancer(int teamSize) {
+        return new TeamBalancer(evaluator, rules, teamSize, Logger.getLogger(TeamBalancer.class.getName()), objective);
     }
 
     private List<Team> buildInitialTeams(List<Player> players, int teamSize) {
-        logger.info("Building initial teams...");
+        logger.info("Building initial teams using " + strategy + "...");
+        if (strategy == ConstructionStrategy.BUCKET_MATCHING) {
+            return new BucketMatchingConstructor(rules).construct(players, teamSize);
+        }
+        if (strategy == ConstructionStrategy.CLUSTER_SEEDED) {
+            List<Team> seeded = new ClusterSeeder(rules, new Random(random.nextLong())).construct(players, teamSize);
+            lightSkillTighten(seeded, 1.0);
+            return seeded;
+        }
         List<Player> pool = new ArrayList<>(players);
 
         int teamCount = Math.max(1, (int) Math.ceil(pool.size() / (double) teamSize));
         List<Team> teams = new ArrayList<>(teamCount);
         for (int i = 0; i < teamCount; i++) teams.add(new Team("Team " + (i + 1)));
 
-        Map<String, List<Player>> byPers = pool.stream()
-                .collect(Collectors.groupingBy(Player::getPersonalityType));
+        Map<Personality, List<Player>> byPers = pool.stream()
+                .collect(Collectors.groupingBy(Player::getPersonality, () -> new EnumMap<>(Personality.class),
+                        Collectors.toList()));
 
-        List<Player> leaders = new ArrayList<>(byPers.getOrDefault("Leader", List.of()));
-        List<Player> thinkers = new ArrayList<>(byPers.getOrDefault("Thinker", List.of()));
-        List<Player> balanced = new ArrayList<>(byPers.getOrDefault("Balanced", List.of()));
+        List<Player> leaders = new ArrayList<>(byPers.getOrDefault(Personality.LEADER, List.of()));
+        List<Player> thinkers = new ArrayList<>(byPers.getOrDefault(Personality.THINKER, List.of()));
+        List<Player> balanced = new ArrayList<>(byPers.getOrDefault(Personality.BALANCED, List.of()));
 
         Comparator<Player> skillDesc = Comparator.comparingInt(Player::getSkillLevel).reversed();
         leaders.sort(skillDesc);
@@ -171,7 +323,7 @@ public class TeamBuilder{
             }
         }
         for (Team t : teams) {
-            long current = t.countByPersonality("Thinker");
+            long current = t.countByPersonality(Personality.THINKER);
             while (current < maxThinkers && idx < thinkers.size()) {
                 Player p = thinkers.get(idx++);
                 if (t.getMembers().size() < teamSize) {
@@ -240,35 +392,23 @@ public class TeamBuilder{
         logger.fine("Distributed " + remaining.size() + " remaining players.");
     }
 
-    private Team buildCandidateTeamFromPool(List<Player> pool, int teamSize, Player leader) {
+    /**
+     * Builds a candidate around the leader. Each attempt starts reading the personality
+     * buckets at a fresh random offset instead of shuffling the whole pool.
+     */
+    private Team buildCandidateTeamFromPool(PlayerPool pool, int teamSize, Player leader, int attempt) {
         if (!pool.contains(leader)) return null;
 
         Team candidate = new Team("RTeam-" + UUID.randomUUID());
+        Set<Player> chosen = Collections.newSetFromMap(new IdentityHashMap<>());
         candidate.addMember(leader);
-
-        List<Player> thinkersSorted = filterByPersonality(pool, "Thinker").stream()
-                .sorted(Comparator.comparingInt(Player::getSkillLevel).reversed())
-                .collect(Collectors.toList());
+        chosen.add(leader);
 
         int needThinkers = Math.min(rules.getMaxThinkers(), 2);
-        for (int i = 0; i < needThinkers && candidate.getMembers().size() < teamSize && i < thinkersSorted.size(); i++) {
-            Player t = thinkersSorted.get(i);
-            if (!candidate.getMembers().contains(t)) candidate.addMember(t);
-        }
-
-        List<Player> balancedSorted = filterByPersonality(pool, "Balanced").stream()
-                .sorted(Comparator.comparingInt(Player::getSkillLevel).reversed())
-                .collect(Collectors.toList());
-
-        for (Player b : balancedSorted) {
-            if (candidate.getMembers().size() >= teamSize) break;
-            if (!candidate.getMembers().contains(b)) candidate.addMember(b);
-        }
-
-        for (Player p : pool) {
-            if (candidate.getMembers().size() >= teamSize) break;
-            if (!candidate.getMembers().contains(p)) candidate.addMember(p);
-        }
+        takeFromBucket(pool, PlayerPool.THINKER, needThinkers, candidate, chosen, teamSize, attempt);
+        takeFromBucket(pool, PlayerPool.BALANCED, teamSize, candidate, chosen, teamSize, attempt);
+        takeFromBucket(pool, PlayerPool.THINKER, teamSize, candidate, chosen, teamSize, attempt);
+        takeFromBucket(pool, PlayerPool.LEADER, teamSize, candidate, chosen, teamSize, attempt);
 
         if (candidate.getMembers().size() != teamSize) return null;
 
@@ -276,9 +416,19 @@ public class TeamBuilder{
         return candidate;
     }
 
-    private List<Player> filterByPersonality(List<Player> src, String type) {
-        return src.stream().filter(p -> p.getPersonalityType().equalsIgnoreCase(type))
-                .collect(Collectors.toCollection(ArrayList::new));
+    private void takeFromBucket(PlayerPool pool, int personality, int limit, Team candidate,
+                                Set<Player> chosen, int teamSize, int attempt) {
+        int size = pool.size(personality);
+        if (size == 0) return;
+        int start = attempt == 0 ? 0 : random.nextInt(size);
+        int taken = 0;
+        for (int i = 0; i < size && taken < limit && candidate.getMembers().size() < teamSize; i++) {
+            Player p = pool.get(personality, (start + i) % size);
+            if (chosen.add(p)) {
+                candidate.addMember(p);
+                taken++;
+            }
+        }
     }
 
     private int priorityScore(Player p) {
@@ -289,77 +439,22 @@ public class TeamBuilder{
             case SUPPORTER -> score += 20;
             default -> score += 10;
         }
-        if ("Leader".equalsIgnoreCase(p.getPersonalityType())) score += 70;
-        if ("Thinker".equalsIgnoreCase(p.getPersonalityType())) score += 60;
+        if (p.getPersonality() == Personality.LEADER) score += 70;
+        if (p.getPersonality() == Personality.THINKER) score += 60;
         score += p.getSkillLevel() * 3;
         return score;
     }
 
+    /**
+     * Same-personality swaps between extreme teams, run on a PlayerTable so skill sums
+     * are maintained incrementally.
+     */
     private void lightSkillTighten(List<Team> teams, double desiredRange) {
         if (teams.size() < 2) return;
-        double currentRange = rangeOfTeams(teams);
-        if (currentRange <= desiredRange) return;
-        boolean improved;
-        int loop = 0;
-        do {
-            improved = false;
-            loop++;
-            teams.sort(Comparator.comparingDouble(Team::getTotalSkillAvg).reversed());
-            Team high = teams.get(0);
-            Team low = teams.get(teams.size() - 1);
-            Optional<Swap> best = findBestLocalSwap(high, low);
-            if (best.isPresent()) {
-                applyLocalSwap(best.get());
-                logger.fine("Applied local skill swap between " + best.get().playerA.getName() + " and " + best.get().playerB.getName());
-                improved = true;
-            }
-            currentRange = rangeOfTeams(teams);
-        } while (improved && currentRange > desiredRange && loop < 50);
-    }
-
-    private Optional<Swap> findBestLocalSwap(Team high, Team low) {
-        double baseHigh = high.getTotalSkillAvg();
-        double baseLow = low.getTotalSkillAvg();
-        double bestRange = Double.POSITIVE_INFINITY;
-        Swap bestSwap = null;
-        for (Player ph : new ArrayList<>(high.getMembers())) {
-            for (Player pl : new ArrayList<>(low.getMembers())) {
-                if (!ph.getPersonalityType().equalsIgnoreCase(pl.getPersonalityType())) continue;
-                double newHigh = (sumSkillsExcluding(high, ph) + pl.getSkillLevel()) / (double) high.getMembers().size();
-                double newLow = (sumSkillsExcluding(low, pl) + ph.getSkillLevel()) / (double) low.getMembers().size();
-                double newRange = Math.abs(newHigh - newLow);
-                if (newRange < (baseHigh - baseLow) && newRange < bestRange) {
-                    bestRange = newRange;
-                    bestSwap = new Swap(high, low, ph, pl);
-                }
-            }
+        PlayerTable table = PlayerTable.fromTeams(teams);
+        if (table.skillRange() <= desiredRange) return;
+        if (tightener.tighten(table, desiredRange, 50, FormationControl.none()) > 0) {
+            table.writeBack(teams);
         }
-        return Optional.ofNullable(bestSwap);
-    }
-
-    private void applyLocalSwap(Swap s) {
-        s.teamA.getMembers().remove(s.playerA);
-        s.teamA.getMembers().add(s.playerB);
-        s.teamB.getMembers().remove(s.playerB);
-        s.teamB.getMembers().add(s.playerA);
-    }
-
-    private int sumSkillsExcluding(Team team, Player excluded) {
-        int sum = 0;
-        for (Player p : team.getMembers()) if (!p.equals(excluded)) sum += p.getSkillLevel();
-        return sum;
-    }
-
-    private double rangeOfTeams(List<Team> teams) {
-        DoubleSummaryStatistics stat = teams.stream()
-                .mapToDouble(Team::getTotalSkillAvg)
-                .summaryStatistics();
-        return stat.getMax() - stat.getMin();
-    }
-
-    private static class Swap {
-        final Team teamA, teamB;
-        final Player playerA, playerB;
-        Swap(Team a, Team b, Player pa, Player pb) { this.teamA = a; this.teamB = b; this.playerA = pa; this.playerB = pb; }
     }
 }
@@ -0,0 +1,32 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
+import smartTeamMate.rules.TeamRules;
+
+/**
+ * Rule counters of one team, used to decide whether a one-for-one swap keeps the team
+ * valid without building a simulated team: the swap is applied to the counter vector,
+ * the compiled checks run, and the vector is restored.
+ */
+public class TeamCounters {
+
+    private final CompiledRules checks;
+    private final int[] counters;
+
+    public TeamCounters(Team team, TeamRules rules) {
+        this.checks = rules.compiled();
+        this.counters = CompiledRules.count(team.getMembers());
+    }
+
+    /** Whether the team would be valid with player out replaced by player in */
+    public boolean validAfterSwap(Player out, Player in) {
+        CompiledRules.remove(counters, out);
+        CompiledRules.add(counters, in);
+        boolean valid = checks.test(counters);
+        CompiledRules.remove(counters, in);
+        CompiledRules.add(counters, out);
+        return valid;
+    }
+}
@@ -1,6 +1,7 @@
 package smartTeamMate.service;
 
 import smartTeamMate.model.Team;
+import smartTeamMate.rules.CompiledRules;
 import smartTeamMate.rules.TeamRules;
 
 import java.util.*;
@@ -17,6 +18,10 @@ public class TeamEvaluator {
         log.info("TeamEvaluator initialized with rules: " + rules);
     }
 
+    public TeamRules getRules() {
+        return rules;
+    }
+
     // Parallel evaluation
     public Map<Team, TeamIssues> evaluateTeams(List<Team> teams) {
         log.info("Starting evaluation of " + teams.size() + " teams...");
@@ -55,46 +60,15 @@ public class TeamEvaluator {
 
         var issues = new TeamIssues();
 
-        var roleCount = team.getRoleCount();
-        var gameCount = team.getGameCount();
-        long leaders = team.countByPersonality("Leader");
-        long thinkers = team.countByPersonality("Thinker");
-
-        // RULES CHECKING
-        if (leaders > rules.getMaxLeaders()) {
-            issues.tooManyLeaders = true;
-            issues.messages.add("Too many leaders (" + leaders + ")");
-            log.warning(team.getName() + " has too many leaders: " + leaders);
-        }
-        if (thinkers > rules.getMaxThinkers()) {
-            issues.tooManyThinkers = true;
-            issues.messages.add("Too many thinkers (" + thinkers + ")");
-            log.warning(team.getName() + " has too many thinkers: " + thinkers);
-        }
-
-        if (leaders < rules.getMinLeaders()) {
-            issues.notEnoughLeaders = true;
-            issues.messages.add("Not enough leaders (" + leaders + ")");
-            log.warning(team.getName() + " has not enough leaders: " + leaders);
-        }
-        if (thinkers < rules.getMinThinkers()) {
-            issues.notEnoughThinkers = true;
-            issues.messages.add("Not enough thinkers (" + thinkers + ")");
-            log.warning(team.getName() + " has not enough thinkers: " + thinkers);
-        }
-
-        for (var entry : gameCount.entrySet()) {
-            if (entry.getValue() > rules.getGameCap()) {
-                issues.tooManyGamePlayers = true;
-                issues.messages.add("Game overflow: " + entry.getKey() + " (" + entry.getValue() + ")");
-                log.warning(team.getName() + " game overflow: " + entry.getKey() + " count: " + entry.getValue());
-            }
-        }
-
-        if (roleCount.size() < rules.getMinRoles()) {
-            issues.lowRoleDiversity = true;
-            issues.messages.add("Role diversity too low (" + roleCount.size() + ")");
-            log.warning(team.getName() + " role diversity too low: " + roleCount.size());
+        // RULES CHECKING: one pass over the compiled checks
+        CompiledRules checks = rules.compiled();
+        int[] counters = CompiledRules.count(team.getMembersSnapshot());
+        for (int i = 0; i < checks.size(); i++) {
+            if (checks.passes(i, counters)) continue;
+            flag(issues, checks.violation(i));
+            String message = checks.describe(i, counters);
+            issues.messages.add(message);
+            log.warning(team.getName() + ": " + message);
         }
 
         if (!issues.messages.isEmpty()) {
@@ -106,10 +80,24 @@ public class TeamEvaluator {
         return issues;
     }
 
+    private static void flag(TeamIssues issues, CompiledRules.Violation violation) {
+        switch (violation) {
+            case TOO_MANY_LEADERS -> issues.tooManyLeaders = true;
+            case NOT_ENOUGH_LEADERS -> issues.notEnoughLeaders = true;
+            case TOO_MANY_THINKERS -> issues.tooManyThinkers = true;
+            case NOT_ENOUGH_THINKERS -> issues.notEnoughThinkers = true;
+            case GAME_OVERFLOW -> issues.tooManyGamePlayers = true;
+            case GAME_MINIMUM -> issues.gameMinimumMissing = true;
+            case ROLE_CAP -> issues.roleCapExceeded = true;
+            case LOW_ROLE_DIVERSITY -> issues.lowRoleDiversity = true;
+            case SKILL_FLOOR -> issues.belowSkillFloor = true;
+        }
+    }
+
+    /** Validity only: runs the compiled checks without building issue messages */
     public boolean teamValidator(Team team) {
         log.fine("Validating team: " + team.getName());
-        TeamIssues issues = evaluate(team);
-        boolean valid = !issues.hasIssues();
+        boolean valid = rules.compiled().test(CompiledRules.count(team.getMembersSnapshot()));
         log.fine("Team " + team.getName() + " valid: " + valid);
         return valid;
     }
@@ -13,6 +13,9 @@ public class TeamIssues {
     public boolean notEnoughThinkers = false;
     public boolean tooManyGamePlayers = false;
     public boolean lowRoleDiversity = false;
+    public boolean roleCapExceeded = false;
+    public boolean gameMinimumMissing = false;
+    public boolean belowSkillFloor = false;
 
     public List<String> messages = new ArrayList<>();
 
@@ -22,7 +25,8 @@ public class TeamIssues {
     public boolean hasIssues() {
         return tooManyLeaders || notEnoughLeaders
                 || tooManyThinkers || notEnoughThinkers
-                || tooManyGamePlayers || lowRoleDiversity;
+                || tooManyGamePlayers || lowRoleDiversity
+                || roleCapExceeded || gameMinimumMissing || belowSkillFloor;
     }
 
     /**
@@ -1,26 +1,72 @@
 package smartTeamMate.service;
 
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
 import smartTeamMate.model.Player;
 import smartTeamMate.model.Team;
+import smartTeamMate.repository.FormationSnapshot;
 import smartTeamMate.rules.TeamRules;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 public class TeamService {
 
+    private static final double ACCEPTABLE_RANGE = 0.5;
+    private static final int DEFAULT_SHARD_SIZE = 1000;
+    // Random swap batches per balancing round, one per thread in the shared balancer
+    private static final int SWAP_BATCHES_PER_ROUND = 8;
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "team-formation");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final ConstructionStrategy[] PORTFOLIO_STRATEGIES = {
+            ConstructionStrategy.BUCKET_MATCHING,
+            ConstructionStrategy.CLUSTER_SEEDED,
+            ConstructionStrategy.PERSONALITY_SNAKE
+    };
+
     private final TeamBuilder builder;
     private final TeamRules rules;
     private final TeamEvaluator evaluator;
     private final Logger logger;
     private final SkillBalancer skillBalancer;
+    private final SwapObjective objective;
+    // Threads for construction repair and hierarchical shards
+    private final int workerThreads;
 
     public TeamService() {
-        this.rules = new TeamRules();  // Passing rules to builder
+        this(new TeamRules());
+    }
+
+    public TeamService(TeamRules rules) {
+        this(rules, Objectives.standard(rules));
+    }
+
+    /**
+     * @param objective what the balancing stage minimises, e.g. a {@link WeightedObjective}
+     */
+    public TeamService(TeamRules rules, SwapObjective objective) {
+        this(rules, objective, SWAP_BATCHES_PER_ROUND, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param balancerThreads threads of the shared skill balancer
+     * @param workerThreads   threads for construction repair and hierarchical shards
+     */
+    private TeamService(TeamRules rules, SwapObjective objective, int balancerThreads, int workerThreads) {
+        this.rules = rules;  // Passing rules to builder
+        this.objective = objective;
+        this.workerThreads = Math.max(1, workerThreads);
         this.evaluator = new TeamEvaluator(rules);
         this.logger = Logger.getLogger(this.getClass().getName());
-        this.skillBalancer = new SkillBalancer(evaluator, 8, 2000);
-        this.builder = new TeamBuilder(rules,evaluator, skillBalancer);
+        this.skillBalancer = new SkillBalancer(evaluator, balancerThreads, SWAP_BATCHES_PER_ROUND, 2000, null);
+        this.builder = new TeamBuilder(rules, evaluator, skillBalancer, ConstructionStrategy.BUCKET_MATCHING,
+                this.workerThreads, new Random(), objective);
         logger.info("TeamService initialized.");
     }
 
@@ -28,26 +74,22 @@ public class TeamService {
         try {
             logger.info("Starting team creation for " + players.size() + " players, team size: " + teamSize);
 
+            DatasetStats stats = DatasetStats.of(players);
             DatasetChecker checker = new DatasetChecker(rules, logger);
-            checker.check(players, teamSize);
+            checker.check(stats, teamSize);
             logger.fine("Dataset check passed.");
-            validateTeamSize(players, teamSize);
+            validateTeamSize(stats, teamSize);
             logger.fine("Team size validated.");
 
-            // 1. Build initial teams with personality-aware distribution
-            List<Team> teams = builder.buildTeams(players, teamSize);
-            logger.info("Initial teams built: " + teams.size());
-
-            // 2. Create balancer and fine-tune
-            TeamBalancer balancer = new TeamBalancer(evaluator, rules, teamSize);
-            balancer.balance(teams);
-            logger.fine("Teams balanced after initial build.");
-
-            double acceptableRange = 0.5;
-            teams = skillBalancer.tightenValidTeamSkills(teams, acceptableRange, true);
-            logger.info("Teams skill-tightened with acceptable range: " + acceptableRange);
+            FeasibilityReport feasibility = new FeasibilityAnalyzer(rules, logger).analyze(stats, teamSize);
+            if (!feasibility.isFeasible()) {
+                logger.warning("No valid team is achievable (limited by " + feasibility.getLimitingFactor()
+                        + "). Skipping formation.");
+                return new ArrayList<>();
+            }
 
-            return getValidTeams(teams,teamSize);
+            return formTeams(players, teamSize, feasibility.getMaxValidTeams(), builder, skillBalancer,
+                    FormationControl.none());
         } catch (IllegalArgumentException e) {
             logger.severe("IllegalArgumentException during team creation: " + e.getMessage());
             throw e;
@@ -58,9 +100,469 @@ public class TeamService {
         }
     }
 
-    private void validateTeamSize(List<Player> players, int teamSize) {
-        int maxPossible = calculateMaxTeamSize(players);
+    /**
+     * Portfolio mode: runs several independently seeded formation pipelines in parallel,
+     * rotating through the construction strategies, and keeps the best result (most valid teams,
+     * then tightest skill range) that finished within the wall-clock budget.
+     * If no run finishes in time, the first run to finish is returned.
+     */
+    public List<Team> createTeamsPortfolio(List<Player> players, int teamSize, int runs, long budgetMillis) {
+        logger.info("Starting portfolio formation: " + runs + " runs, budget " + budgetMillis + " ms");
+
+        DatasetStats stats = DatasetStats.of(players);
+        new DatasetChecker(rules, logger).check(stats, teamSize);
+        validateTeamSize(stats, teamSize);
+        FeasibilityReport feasibility = new FeasibilityAnalyzer(rules, logger).analyze(stats, teamSize);
+        if (!feasibility.isFeasible()) {
+            logger.warning("No valid team is achievable (limited by " + feasibility.getLimitingFactor()
+                    + "). Skipping formation.");
+            return new ArrayList<>();
+        }
+
+        int workers = Math.max(1, Math.min(runs, Runtime.getRuntime().availableProcessors()));
+        ExecutorService exec = Executors.newFixedThreadPool(workers);
+        CompletionService<List<Team>> completion = new ExecutorCompletionService<>(exec);
+        // Runs stop cooperatively at the budget and are cancelled once a result is chosen;
+        // interrupting the pool alone does not stop a run that is between blocking calls
+        FormationControl runControl = new FormationControl(budgetMillis, null);
+        // Seeds only make the runs differ from each other; the balancer threads make them non-repeatable
+        long baseSeed = System.nanoTime();
+
+        for (int i = 0; i < runs; i++) {
+            long seed = baseSeed + 7919L * i;
+            ConstructionStrategy strategy = PORTFOLIO_STRATEGIES[i % PORTFOLIO_STRATEGIES.length];
+            completion.submit(() -> {
+                // Runs already fill the pool, so each balancer gets one thread like the shard balancers
+                SkillBalancer runBalancer = new SkillBalancer(evaluator, 1, SWAP_BATCHES_PER_ROUND, 2000, seed);
+                try {
+                    TeamBuilder runBuilder = new TeamBuilder(rules, evaluator, runBalancer, strategy, 1, new Random(seed),
+                            objective);
+                    return formTeams(players, teamSize, feasibility.getMaxValidTeams(), runBuilder, runBalancer,
+                            runControl);
+                } finally {
+                    runBalancer.shutdown();
+                }
+            });
+        }
+
+        List<Team> best = null;
+        FormationScore bestScore = null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        try {
+            for (int done = 0; done < runs; done++) {
+                long remaining = deadline - System.nanoTime();
+                Future<List<Team>> next = completion.poll(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    if (best != null) break;    // budget spent, keep the best so far
+                    next = completion.take();   // nothing finished yet, wait for the first run
+                }
+                try {
+                    List<Team> result = next.get();
+                    FormationScore score = FormationScore.of(result);
+                    logger.info("Portfolio run finished with " + score);
+                    if (score.isBetterThan(bestScore)) {
+                        best = result;
+                        bestScore = score;
+                    }
+                } catch (ExecutionException e) {
+                    logger.warning("Portfolio run failed: " + e.getCause());
+                }
+                if (bestScore != null && bestScore.getValidTeams() >= feasibility.getMaxValidTeams()
+                        && bestScore.getSkillRange() <= ACCEPTABLE_RANGE) {
+                    logger.info("Portfolio reached the feasibility bound within the acceptable range, stopping early.");
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning("Portfolio formation interrupted; returning best result so far.");
+        } finally {
+            runControl.cancel();
+            exec.shutdownNow();
+        }
+
+        logger.info("Portfolio best: " + bestScore);
+        return best == null ? new ArrayList<>() : best;
+    }
+
+    /**
+     * Anytime formation: runs the pipeline in the background and returns immediately.
+     *
+     * The listener receives the current stage and the best valid teams found so far as the
+     * balancers improve them. Cancelling the handle or reaching the timeout (0 = none) stops
+     * the balancing loops cooperatively, and the result completes with the best-so-far teams.
+     */
+    public FormationHandle createTeamsAsync(List<Player> players, int teamSize, long timeoutMillis,
+                                            FormationListener listener) {
+        AtomicReference<FormationProgress> latest = new AtomicReference<>();
+        FormationControl control = new FormationControl(timeoutMillis,
+                (stage, teams) -> publishProgress(stage, teams, teamSize, latest, listener));
+
+        CompletableFuture<List<Team>> result = CompletableFuture.supplyAsync(() -> {
+            logger.info("Starting async team creation for " + players.size() + " players, team size: " + teamSize);
+            control.checkpoint(FormationStage.VALIDATING, List.of(), true);
+
+            DatasetStats stats = DatasetStats.of(players);
+            new DatasetChecker(rules, logger).check(stats, teamSize);
+            validateTeamSize(stats, teamSize);
+            FeasibilityReport feasibility = new FeasibilityAnalyzer(rules, logger).analyze(stats, teamSize);
+
+            List<Team> teams = List.of();
+            if (feasibility.isFeasible()) {
+                teams = formTeams(players, teamSize, feasibility.getMaxValidTeams(), builder, skillBalancer, control);
+            } else {
+                logger.warning("No valid team is achievable (limited by " + feasibility.getLimitingFactor()
+                        + "). Skipping formation.");
+            }
+
+            control.checkpoint(FormationStage.DONE, teams, true);
+            if (control.isCancelled() || control.isExpired()) {
+                logger.info("Async formation stopped early; returning best teams so far.");
+            }
+            return new ArrayList<>(latest.get().getBestTeams());
+        }, ASYNC_EXECUTOR);
+
+        return new FormationHandle(result, control, latest);
+    }
+
+    /**
+     * Hierarchical mode for very large cohorts, with shards of about 1000 players.
+     */
+    public List<Team> createTeamsHierarchical(List<Player> players, int teamSize) {
+        return createTeamsHierarchical(players, teamSize, DEFAULT_SHARD_SIZE);
+    }
+
+    /**
+     * Hierarchical mode: splits the cohort into stratified shards of about shardSize players,
+     * forms teams within each shard in parallel with the usual pipeline and then runs one
+     * deterministic skill-tightening pass across all teams.
+     *
+     * Balancing and tightening cost grows faster than linearly with the number of teams,
+     * so many small shards are far cheaper than one large formation. Each shard mirrors the
+     * cohort's personality, game, role and skill mix, so shard-local teams are close to what a
+     * global formation would produce and the final pass only has to even out shard averages.
+     */
+    public List<Team> createTeamsHierarchical(List<Player> players, int teamSize, int shardSize) {
+        if (shardSize < teamSize) throw new IllegalArgumentException("shardSize must be at least the team size");
+
+        DatasetStats stats = DatasetStats.of(players);
+        new DatasetChecker(rules, logger).check(stats, teamSize);
+        validateTeamSize(stats, teamSize);
+
+        int shardCount = Math.max(1, (int) Math.round(players.size() / (double) shardSize));
+        if (shardCount == 1) return createTeams(players, teamSize);
+        logger.info("Starting hierarchical formation for " + players.size() + " players in "
+                + shardCount + " shards, team size: " + teamSize);
+
+        List<List<Player>> shards = new StratifiedSharder().split(players, shardCount);
+        int workers = Math.min(shardCount, workerThreads);
+        ExecutorService exec = Executors.newFixedThreadPool(workers);
+        List<Team> teams = new ArrayList<>();
+        try {
+            List<Future<List<Team>>> futures = new ArrayList<>(shardCount);
+            for (List<Player> shard : shards) {
+                futures.add(exec.submit(() -> formShard(shard, teamSize)));
+            }
+            for (Future<List<Team>> f : futures) {
+                teams.addAll(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hierarchical formation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Shard formation failed", cause);
+        } finally {
+            exec.shutdownNow();
+        }
+
+        for (int i = 0; i < teams.size(); i++) teams.get(i).setName("Team " + (i + 1));
+
+        // Shards were tightened on their own; close the gaps between shard averages
+        PlayerTable table = PlayerTable.fromTeams(teams);
+        int swaps = new SkillTightener(rules, logger).tighten(table, ACCEPTABLE_RANGE,
+                Math.max(2000, teams.size()), FormationControl.none());
+        if (swaps > 0) table.writeBack(teams);
+        logger.info("Hierarchical formation produced " + teams.size() + " teams; cross-shard pass applied "
+                + swaps + " swaps, skill range " + String.format("%.2f", table.skillRange()));
+
+        return getValidTeams(teams, teamSize);
+    }
+
+    /**
+     * Captures a formation for {@link smartTeamMate.repository.FormationSnapshotStore}, scored
+     * by its valid teams under this service's rules.
+     */
+    public FormationSnapshot snapshot(List<Team> teams, int teamSize) {
+        FormationScore score = FormationScore.of(getValidTeams(teams, teamSize));
+        return new FormationSnapshot(copyTeams(teams), teamSize, rules,
+                score.getValidTeams(), score.getSkillRange());
+    }
+
+    /**
+     * Warm restart from a saved formation instead of forming from scratch.
+     *
+     * The snapshot's teams are kept as they are. Players not in any of them, e.g. registered
+     * since the snapshot was taken, are built into extra teams if they can form valid ones.
+     * All teams then go through the balancing and tightening stages again, which start from
+     * the saved assignment and so only have the remaining gaps to close.
+     */
+    public List<Team> resumeFormation(FormationSnapshot snapshot, List<Player> players) {
+        int teamSize = snapshot.getTeamSize();
+        logger.info("Resuming formation from " + snapshot);
+        if (!snapshot.getRules().toProperties().equals(rules.toProperties())) {
+            logger.warning("Snapshot was formed under " + snapshot.getRules() + "; resuming under " + rules);
+        }
+
+        // Teams that lost members since the snapshot are dissolved and their players regrouped
+        List<Team> teams = new ArrayList<>();
+        Set<String> assigned = new HashSet<>();
+        for (Team t : snapshot.getTeams()) {
+            if (t.getMembersReadOnly().size() != teamSize) continue;
+            teams.add(t);
+            for (Player p : t.getMembersReadOnly()) assigned.add(p.getId());
+        }
+        List<Player> newcomers = new ArrayList<>();
+        for (Player p : players) {
+            if (!assigned.contains(p.getId())) newcomers.add(p);
+        }
+
+        if (newcomers.size() >= teamSize) {
+            FeasibilityReport feasibility = new FeasibilityAnalyzer(rules, logger).analyze(newcomers, teamSize);
+            if (feasibility.isFeasible()) {
+                List<Team> added = builder.buildTeams(newcomers, teamSize, feasibility.getMaxValidTeams(),
+                        FormationControl.none());
+                teams.addAll(added);
+                logger.info("Built " + added.size() + " teams from " + newcomers.size() + " unassigned players.");
+            } else {
+                logger.info(newcomers.size() + " unassigned players cannot form a valid team (limited by "
+                        + feasibility.getLimitingFactor() + ").");
+            }
+        }
+
+        List<Team> result = refineTeams(teams, teamSize, skillBalancer, FormationControl.none());
+        // Saved and newly built teams are numbered together once the final set is known
+        for (int i = 0; i < result.size(); i++) result.get(i).setName("Team " + (i + 1));
+        logger.info("Resumed formation: " + FormationScore.of(result) + " (snapshot had "
+                + snapshot.getValidTeams() + " valid teams, skill range "
+                + String.format("%.2f", snapshot.getSkillRange()) + ")");
+        return result;
+    }
 
+    /**
+     * Game-partitioned mode with one partition per game.
+     */
+    public List<Team> createTeamsByGame(List<Player> players, int teamSize) {
+        List<Set<Game>> groups = new ArrayList<>();
+        for (Game game : Game.values()) groups.add(EnumSet.of(game));
+        return createTeamsByGame(players, teamSize, groups);
+    }
+
+    /**
+     * Game-partitioned mode: every team is drawn from the players of one game group.
+     *
+     * Players are split by game group and each partition is formed concurrently by its own
+     * TeamService whose rules are adapted with {@link TeamRules#forGames}, so a single-game
+     * partition may put more than gameCap players of that game in a team. Partitions use
+     * the standard objective for their rules and split this service's worker threads between
+     * them, each with a single balancer thread, and large ones are formed hierarchically.
+     * The team size is validated up front: it must fit at least one group under that group's
+     * rules. A partition that cannot form teams of this size is skipped with a warning, and the
+     * result is logged against the sum of the partitions' feasibility bounds. The teams
+     * are valid under their partition's rules, not necessarily under this service's rules.
+     */
+    public List<Team> createTeamsByGame(List<Player> players, int teamSize, List<Set<Game>> groups) {
+        logger.info("Starting game-partitioned formation for " + players.size() + " players in "
+                + groups.size() + " game groups, team size: " + teamSize);
+
+        Map<Game, Integer> groupOf = new EnumMap<>(Game.class);
+        for (int g = 0; g < groups.size(); g++) {
+            for (Game game : groups.get(g)) {
+                if (groupOf.putIfAbsent(game, g) != null) {
+                    throw new IllegalArgumentException("Game " + game + " is in more than one group");
+                }
+            }
+        }
+        List<List<Player>> partitions = new ArrayList<>(groups.size());
+        List<DatasetStats> partitionStats = new ArrayList<>(groups.size());
+        for (int g = 0; g < groups.size(); g++) {
+            partitions.add(new ArrayList<>());
+            partitionStats.add(new DatasetStats());
+        }
+        DatasetStats stats = new DatasetStats();
+        int ungrouped = 0;
+        for (Player p : players) {
+            stats.accept(p);
+            Integer g = groupOf.get(p.getPreferredGame());
+            if (g == null) {
+                ungrouped++;
+            } else {
+                partitions.get(g).add(p);
+                partitionStats.get(g).accept(p);
+            }
+        }
+        if (ungrouped > 0) logger.warning(ungrouped + " players prefer a game outside every group and are skipped.");
+
+        // Every team comes from one group, so the size only has to fit the best group under its rules
+        int maxPossible = 0;
+        int bound = 0;
+        for (int g = 0; g < groups.size(); g++) {
+            if (partitionStats.get(g).getPlayerCount() == 0) continue;
+            TeamRules groupRules = rules.forGames(groups.get(g), teamSize);
+            maxPossible = Math.max(maxPossible, calculateMaxTeamSize(groupRules, partitionStats.get(g)));
+            bound += new FeasibilityAnalyzer(groupRules, logger).analyze(partitionStats.get(g), teamSize)
+                    .getMaxValidTeams();
+        }
+        validateTeamSize(teamSize, maxPossible);
+
+        int workers = Math.max(1, Math.min(groups.size(), workerThreads));
+        // Partitions share this service's worker budget instead of each taking every core
+        int partitionThreads = Math.max(1, workerThreads / workers);
+        ExecutorService exec = Executors.newFixedThreadPool(workers);
+        List<Team> teams = new ArrayList<>();
+        try {
+            List<Future<List<Team>>> futures = new ArrayList<>(groups.size());
+            for (int g = 0; g < groups.size(); g++) {
+                Set<Game> group = groups.get(g);
+                List<Player> partition = partitions.get(g);
+                futures.add(exec.submit(() -> formPartition(group, partition, teamSize, partitionThreads)));
+            }
+            for (Future<List<Team>> f : futures) {
+                teams.addAll(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Game-partitioned formation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Partition formation failed", cause);
+        } finally {
+            exec.shutdownNow();
+        }
+
+        for (int i = 0; i < teams.size(); i++) teams.get(i).setName("Team " + (i + 1));
+
+        int assigned = teams.size() * teamSize;
+        logger.info("Game-partitioned formation: " + FormationScore.of(teams) + " (partition bounds allow "
+                + bound + " valid teams), " + assigned + " of "
+                + stats.getPlayerCount() + " players assigned, cohort average skill "
+                + String.format("%.2f", stats.averageSkill()));
+        return teams;
+    }
+
+    /** One game group through a service for its rules with one balancer thread and its share of the workers */
+    private List<Team> formPartition(Set<Game> group, List<Player> partition, int teamSize, int threads) {
+        if (partition.size() < teamSize) {
+            logger.info("Game group " + group + " has " + partition.size() + " players; no team formed.");
+            return List.of();
+        }
+        TeamRules partitionRules = rules.forGames(group, teamSize);
+        TeamService partitionService = new TeamService(partitionRules, Objectives.standard(partitionRules), 1, threads);
+        try {
+            List<Team> teams = partition.size() >= 2 * DEFAULT_SHARD_SIZE
+                    ? partitionService.createTeamsHierarchical(partition, teamSize)
+                    : partitionService.createTeams(partition, teamSize);
+            logger.info("Game group " + group + ": " + teams.size() + " teams from " + partition.size() + " players");
+            return teams;
+        } catch (IllegalArgumentException e) {
+            logger.warning("Game group " + group + " skipped: " + e.getMessage());
+            return List.of();
+        } finally {
+            partitionService.shutdown();
+        }
+    }
+
+    /** Stops the balancing worker threads; the service must not be used afterwards */
+    public void shutdown() {
+        skillBalancer.shutdown();
+    }
+
+    /** One shard through the normal build, balance and tighten pipeline */
+    private List<Team> formShard(List<Player> shard, int teamSize) {
+        FeasibilityReport feasibility = new FeasibilityAnalyzer(rules, logger).analyze(shard, teamSize);
+        if (!feasibility.isFeasible()) {
+            logger.warning("Shard of " + shard.size() + " players cannot form a valid team (limited by "
+                    + feasibility.getLimitingFactor() + "); its players stay unassigned.");
+            return List.of();
+        }
+        // Shards already run one per core, so each balancer gets a single thread but keeps the
+        // shared balancer's batches per round: fewer random batches per round stall early
+        SkillBalancer shardBalancer = new SkillBalancer(evaluator, 1, SWAP_BATCHES_PER_ROUND, 2000, null);
+        try {
+            TeamBuilder shardBuilder = new TeamBuilder(rules, evaluator, shardBalancer,
+                    ConstructionStrategy.BUCKET_MATCHING, 1, new Random(), objective);
+            return formTeams(shard, teamSize, feasibility.getMaxValidTeams(), shardBuilder, shardBalancer,
+                    FormationControl.none());
+        } finally {
+            shardBalancer.shutdown();
+        }
+    }
+
+    private synchronized void publishProgress(FormationStage stage, List<Team> teams, int teamSize,
+                                              AtomicReference<FormationProgress> latest,
+                                              FormationListener listener) {
+        List<Team> valid = getValidTeams(teams, teamSize);
+        FormationScore score = FormationScore.of(valid);
+        FormationProgress previous = latest.get();
+
+        FormationProgress progress = previous == null || score.isBetterThan(previous.getScore())
+                ? new FormationProgress(stage, score, copyTeams(valid))
+                : new FormationProgress(stage, previous.getScore(), previous.getBestTeams());
+        latest.set(progress);
+        logger.fine("Formation progress: " + progress);
+
+        if (listener == null) return;
+        try {
+            listener.onProgress(progress);
+        } catch (RuntimeException e) {
+            logger.warning("Formation listener failed: " + e.getMessage());
+        }
+    }
+
+    private static List<Team> copyTeams(List<Team> teams) {
+        List<Team> copies = new ArrayList<>(teams.size());
+        for (Team t : teams) {
+            Team copy = new Team(t.getName());
+            t.getMembersSnapshot().forEach(copy::addMember);
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /** Build, balance and tighten, then keep the valid teams */
+    private List<Team> formTeams(List<Player> players, int teamSize, int maxValidTeams,
+                                 TeamBuilder teamBuilder, SkillBalancer tightener, FormationControl control) {
+        // 1. Build initial teams with personality-aware distribution
+        List<Team> teams = teamBuilder.buildTeams(players, teamSize, maxValidTeams, control);
+        logger.info("Initial teams built: " + teams.size());
+        control.checkpoint(FormationStage.BUILDING, teams, true);
+
+        return refineTeams(teams, teamSize, tightener, control);
+    }
+
+    /** Balance and tighten existing teams, then keep the valid ones */
+    private List<Team> refineTeams(List<Team> teams, int teamSize, SkillBalancer tightener,
+                                   FormationControl control) {
+        // 2. Create balancer and fine-tune
+        TeamBalancer balancer = new TeamBalancer(evaluator, rules, teamSize,
+                Logger.getLogger(TeamBalancer.class.getName()), objective);
+        balancer.balance(teams, control);
+        logger.fine("Teams balanced after initial build.");
+        control.checkpoint(FormationStage.BALANCING, teams, true);
+
+        teams = tightener.tightenValidTeamSkills(teams, ACCEPTABLE_RANGE, true, control);
+        logger.info("Teams skill-tightened with acceptable range: " + ACCEPTABLE_RANGE);
+
+        return getValidTeams(teams, teamSize);
+    }
+
+    private void validateTeamSize(DatasetStats stats, int teamSize) {
+        validateTeamSize(teamSize, calculateMaxTeamSize(rules, stats));
+    }
+
+    private void validateTeamSize(int teamSize, int maxPossible) {
         logger.fine("Maximum possible team size for this dataset: " + maxPossible);
 
         if (teamSize > maxPossible) {
@@ -70,48 +572,39 @@ public class TeamService {
             throw new IllegalArgumentException(msg);
         }
 
-        if (teamSize < 3) {
-            String msg = "Invalid team size: teams must have at least 3 members (role constraint).";
+        int minSize = Math.max(1, Math.max(rules.getMinRoles(), rules.getMinLeaders() + rules.getMinThinkers()));
+        if (teamSize < minSize) {
+            String msg = "Invalid team size: teams must have at least " + minSize
+                    + " members (role and personality constraints).";
             logger.warning(msg);
             throw new IllegalArgumentException(msg);
         }
     }
 
-    private int calculateMaxTeamSize(List<Player> players) {
-        long leaders = 0;
-        long thinkers = 0;
-
-        Set<String> roles = new HashSet<>();
-        Map<String, Integer> gameCount = new HashMap<>();
-
-        for (Player p : players) {
-            if ("Leader".equalsIgnoreCase(p.getPersonalityType())) leaders++;
-            if ("Thinker".equalsIgnoreCase(p.getPersonalityType())) thinkers++;
-
-            roles.add(p.getPreferredRole().name());
-
-            String game = p.getPreferredGame().name();
-            gameCount.put(game, gameCount.getOrDefault(game, 0) + 1);
-        }
+    private int calculateMaxTeamSize(TeamRules teamRules, DatasetStats stats) {
+        long leaders = stats.count(Personality.LEADER);
+        long thinkers = stats.count(Personality.THINKER);
+        int distinctRoles = stats.distinctRoles();
 
         // === BASIC REQUIREMENTS ===
-        if (leaders < 1) {
-            logger.warning("Dataset has no leaders.");
+        if (leaders < teamRules.getMinLeaders()) {
+            logger.warning("Dataset has too few leaders: " + leaders);
             return 0;
         }
-        if (thinkers < 1) {
-            logger.warning("Dataset has no thinkers.");
+        if (thinkers < teamRules.getMinThinkers()) {
+            logger.warning("Dataset has too few thinkers: " + thinkers);
             return 0;
         }
-        if (roles.size() < 3) {
-            logger.warning("Dataset role diversity too low: " + roles.size());
+        if (distinctRoles < teamRules.getMinRoles()) {
+            logger.warning("Dataset role diversity too low: " + distinctRoles);
             return 0;
         }
 
-        // === GAME CAP LIMIT (max 2 per game) ===
-        int maxFromGames = gameCount.values().stream()
-                .mapToInt(count -> Math.min(count, 2))
-                .sum();
+        // === GAME CAP LIMIT (max gameCap per game) ===
+        int maxFromGames = 0;
+        for (Game game : Game.values()) {
+            maxFromGames += Math.min(stats.count(game), teamRules.getGameCap());
+        }
 
         logger.fine("Maximum team size limited by game cap: " + maxFromGames);
         return maxFromGames;
@@ -0,0 +1,133 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Team;
+
+import java.util.List;
+
+/**
+ * Indexed min/max heap over team skill averages.
+ *
+ * Teams are identified by their index in the formation. Each team sits in both a
+ * max-heap and a min-heap with its position tracked, so changing one team's average
+ * after a swap costs O(log T) and the highest team, lowest team and skill range are
+ * read in O(1). Methods are synchronized so parallel balancer workers can share one heap.
+ */
+public class TeamSkillHeap {
+
+    private final double[] value;
+    private final int[] maxHeap;
+    private final int[] minHeap;
+    private final int[] maxPos;
+    private final int[] minPos;
+
+    public TeamSkillHeap(double[] averages) {
+        int n = averages.length;
+        this.value = averages.clone();
+        this.maxHeap = new int[n];
+        this.minHeap = new int[n];
+        this.maxPos = new int[n];
+        this.minPos = new int[n];
+        for (int i = 0; i < n; i++) {
+            maxHeap[i] = i;
+            minHeap[i] = i;
+            maxPos[i] = i;
+            minPos[i] = i;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(maxHeap, maxPos, i, true);
+            siftDown(minHeap, minPos, i, false);
+        }
+    }
+
+    /** Heap over the current averages of the given teams, indexed by list position */
+    public static TeamSkillHeap fromTeams(List<Team> teams) {
+        double[] averages = new double[teams.size()];
+        for (int i = 0; i < averages.length; i++) averages[i] = teams.get(i).getTotalSkillAvg();
+        return new TeamSkillHeap(averages);
+    }
+
+    public synchronized int size() {
+        return value.length;
+    }
+
+    public synchronized double get(int team) {
+        return value[team];
+    }
+
+    /** Sets a team's average and restores both heaps */
+    public synchronized void update(int team, double average) {
+        double old = value[team];
+        value[team] = average;
+        if (average > old) {
+            siftUp(maxHeap, maxPos, maxPos[team], true);
+            siftDown(minHeap, minPos, minPos[team], false);
+        } else if (average < old) {
+            siftDown(maxHeap, maxPos, maxPos[team], true);
+            siftUp(minHeap, minPos, minPos[team], false);
+        }
+    }
+
+    public synchronized int highestTeam() {
+        return value.length == 0 ? -1 : maxHeap[0];
+    }
+
+    public synchronized int lowestTeam() {
+        return value.length == 0 ? -1 : minHeap[0];
+    }
+
+    /** Max minus min team average */
+    public synchronized double range() {
+        return value.length == 0 ? 0.0 : value[maxHeap[0]] - value[minHeap[0]];
+    }
+
+    /**
+     * Range the formation would have if teams a and b had the given averages, without
+     * changing the heap. The k-th extreme of a binary heap sits within its first k levels,
+     * so the extremes excluding two teams are among the first seven heap nodes.
+     */
+    public synchronized double rangeWith(int a, double averageA, int b, double averageB) {
+        double max = Math.max(averageA, averageB);
+        double min = Math.min(averageA, averageB);
+        int limit = Math.min(7, value.length);
+        for (int i = 0; i < limit; i++) {
+            int hi = maxHeap[i];
+            if (hi != a && hi != b && value[hi] > max) max = value[hi];
+            int lo = minHeap[i];
+            if (lo != a && lo != b && value[lo] < min) min = value[lo];
+        }
+        return max - min;
+    }
+
+    private boolean above(int x, int y, boolean max) {
+        return max ? value[x] > value[y] : value[x] < value[y];
+    }
+
+    private void siftUp(int[] heap, int[] pos, int i, boolean max) {
+        int team = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!above(team, heap[parent], max)) break;
+            heap[i] = heap[parent];
+            pos[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = team;
+        pos[team] = i;
+    }
+
+    private void siftDown(int[] heap, int[] pos, int i, boolean max) {
+        int n = heap.length;
+        int team = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && above(heap[child + 1], heap[child], max)) child++;
+            if (!above(heap[child], team, max)) break;
+            heap[i] = heap[child];
+            pos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = team;
+        pos[team] = i;
+    }
+}
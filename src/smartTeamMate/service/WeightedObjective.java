@@ -0,0 +1,56 @@
+package smartTeamMate.service;
+
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weighted sum of objectives. Each part is bound separately and priced incrementally,
+ * so a swap costs the sum of the parts' O(1) deltas.
+ */
+public class WeightedObjective implements SwapObjective {
+
+    private final List<SwapObjective> objectives = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+
+    /** Adds an objective with its weight; returns this for chaining */
+    public WeightedObjective add(SwapObjective objective, double weight) {
+        if (weight < 0) throw new IllegalArgumentException("Objective weight must not be negative: " + weight);
+        objectives.add(objective);
+        weights.add(weight);
+        return this;
+    }
+
+    @Override
+    public Evaluation bind(List<Team> teams) {
+        int n = objectives.size();
+        Evaluation[] parts = new Evaluation[n];
+        double[] w = new double[n];
+        for (int i = 0; i < n; i++) {
+            parts[i] = objectives.get(i).bind(teams);
+            w[i] = weights.get(i);
+        }
+
+        return new Evaluation() {
+            @Override
+            public double value() {
+                double total = 0.0;
+                for (int i = 0; i < n; i++) {
+                    if (w[i] != 0.0) total += w[i] * parts[i].value();
+                }
+                return total;
+            }
+
+            @Override
+            public double valueAfterSwap(int teamA, Player outOfA, int teamB, Player outOfB) {
+                double total = 0.0;
+                for (int i = 0; i < n; i++) {
+                    if (w[i] != 0.0) total += w[i] * parts[i].valueAfterSwap(teamA, outOfA, teamB, outOfB);
+                }
+                return total;
+            }
+        };
+    }
+}
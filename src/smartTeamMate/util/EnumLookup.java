@@ -0,0 +1,60 @@
+package smartTeamMate.util;
+
+/**
+ * Open-addressed table from enum constant names to constants, for case-insensitive lookups
+ * that do not allocate. A key is hashed over its upper-cased characters with whitespace and
+ * colons skipped ("cs:go", " Dota 2 "), and a hit is confirmed by comparing the same
+ * characters against the constant's name.
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    private final Object[] table;
+    private final int mask;
+
+    public EnumLookup(E[] constants) {
+        int capacity = Integer.highestOneBit(Math.max(1, constants.length) * 4 - 1) << 1;
+        table = new Object[capacity];
+        mask = capacity - 1;
+        for (E e : constants) {
+            String name = e.name();
+            int slot = hash(name, 0, name.length()) & mask;
+            while (table[slot] != null) slot = (slot + 1) & mask;
+            table[slot] = e;
+        }
+    }
+
+    /** Constant named by s, or null */
+    public E find(CharSequence s) {
+        return find(s, 0, s.length());
+    }
+
+    /** Constant named by s[from, to), or null */
+    @SuppressWarnings("unchecked")
+    public E find(CharSequence s, int from, int to) {
+        for (int slot = hash(s, from, to) & mask; table[slot] != null; slot = (slot + 1) & mask) {
+            E e = (E) table[slot];
+            if (matches(e.name(), s, from, to)) return e;
+        }
+        return null;
+    }
+
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c <= ' ' || c == ':') continue;
+            h = 31 * h + Character.toUpperCase(c);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence s, int from, int to) {
+        int k = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c <= ' ' || c == ':') continue;
+            if (k == name.length() || Character.toUpperCase(c) != name.charAt(k++)) return false;
+        }
+        return k == name.length();
+    }
+}
@@ -2,6 +2,7 @@ package test.java.smartTeamMate.model;
 
 import org.junit.jupiter.api.Test;
 import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
 import smartTeamMate.model.Player;
 import smartTeamMate.model.Role;
 
@@ -24,5 +25,16 @@ class PlayerTest {
         assertEquals(7, p.getSkillLevel());
         assertEquals(85, p.getPersonalityScore());
         assertEquals("Leader", p.getPersonalityType());
+        assertEquals(Personality.LEADER, p.getPersonality());
+    }
+
+    @Test
+    void testPersonalityParsedCaseInsensitively() {
+        Player p = new Player("Bob", "P02", "bob@example.com",
+                Game.FIFA, 5, Role.DEFENDER, 60, " thinker ");
+
+        assertEquals(Personality.THINKER, p.getPersonality());
+        assertEquals("Thinker", p.getPersonalityType());
+        assertThrows(IllegalArgumentException.class, () -> Personality.fromString("Captain"));
     }
 }
@@ -7,6 +7,7 @@ import smartTeamMate.model.Game;
 import smartTeamMate.model.Player;
 import smartTeamMate.model.Role;
 import smartTeamMate.repository.CSVhandler;
+import smartTeamMate.repository.PlayerLoadResult;
 
 import java.io.*;
 import java.nio.file.Path;
@@ -115,4 +116,57 @@ public class CSVhandlerTest {
         List<Player> players = handler.getPlayers();
         assertEquals(1, players.size());
     }
+
+    // ----------------------------------------------------
+    // TEST 6 — EXPORT HEADER AND QUOTED FIELDS
+    // ----------------------------------------------------
+    @Test
+    void testExportHeaderAndQuotedNamesAreRead() throws IOException {
+        File export = tempDir.resolve("export.csv").toFile();
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(export))) {
+            bw.write("ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType\n");
+            bw.write("P001,\"Doe, Jane\",jane@mail.com,CS:GO,7,Attacker,60,Leader\n");
+            bw.write("P002,\"Bob \"\"The Wall\"\"\",bob@mail.com,FIFA,5,Defender,55,Thinker\n");
+        }
+
+        List<Player> players = new CSVhandler(export.getAbsolutePath(), HEADER).getPlayers();
+
+        assertEquals(2, players.size());
+        assertEquals("Doe, Jane", players.get(0).getName());
+        assertEquals(Game.CSGO, players.get(0).getPreferredGame());
+        assertEquals("Bob \"The Wall\"", players.get(1).getName());
+    }
+
+    @Test
+    void testSavedPlayerWithCommaRoundTrips() {
+        handler.savePlayer(new Player("Doe, Jane", "P001", "jane@mail.com", Game.CHESS, 4, Role.SUPPORTER, 70, "Balanced"));
+
+        List<Player> players = handler.getPlayers();
+        assertEquals(1, players.size());
+        assertEquals("Doe, Jane", players.get(0).getName());
+    }
+
+    // ----------------------------------------------------
+    // TEST 7 — BATCHED LOADING KEEPS FILE ORDER
+    // ----------------------------------------------------
+    @Test
+    void testBatchedLoadingKeepsOrderAndCountsMalformedRows() throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(testFile, true))) {
+            for (int i = 1; i <= 500; i++) {
+                bw.write(i % 50 == 0
+                        ? "P" + i + ",broken row\n"
+                        : String.format("P%03d,Player %d,p%d@mail.com,CHESS,%d,DEFENDER,60,Balanced%n", i, i, i, i % 10));
+            }
+        }
+
+        PlayerLoadResult result = new CSVhandler(testFile.getAbsolutePath(), HEADER, 7, 4).loadPlayers(p -> { });
+
+        assertEquals(490, result.getPlayers().size());
+        assertEquals(10, result.getMalformedRows());
+        assertEquals(51, result.getFirstMalformedLine());   // header is line 1
+        for (int i = 1; i < result.getPlayers().size(); i++) {
+            String prev = result.getPlayers().get(i - 1).getId();
+            assertTrue(prev.compareTo(result.getPlayers().get(i).getId()) < 0);
+        }
+    }
 }
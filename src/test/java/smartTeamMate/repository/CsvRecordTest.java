@@ -0,0 +1,70 @@
+package test.java.smartTeamMate.repository;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.repository.CsvRecord;
+import smartTeamMate.repository.CsvRecordReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordTest {
+
+    @Test
+    void testQuotedFieldsAreUnescaped() {
+        CsvRecord record = CsvRecord.parse("a,\"b,c\",\"say \"\"hi\"\"\",,\"\"");
+
+        assertEquals(5, record.size());
+        assertEquals("a", record.get(0));
+        assertEquals("b,c", record.get(1));
+        assertEquals("say \"hi\"", record.get(2));
+        assertEquals("", record.get(3));
+        assertEquals("", record.get(4));
+        assertNull(CsvRecord.parse("a,\"open"));
+    }
+
+    @Test
+    void testReaderJoinsQuotedLineBreaks() throws IOException {
+        String csv = "h1,h2\n\n1,\"two\nlines\"\n3,4\n";
+        try (CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new StringReader(csv)))) {
+            assertEquals("h1", reader.next().get(0));
+            assertEquals("two\nlines", reader.next().get(1));
+            assertEquals("4", reader.next().get(1));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testStrayQuoteOnlyRejectsItsOwnLine() throws IOException {
+        String csv = "1,\"open,x\n2,b\n3,c\n";
+        try (CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new StringReader(csv)))) {
+            CsvRecord stray = reader.next();
+            assertEquals(2, stray.size());
+            assertEquals("open,x", stray.get(1));
+            assertEquals(1, reader.getLineNumber());
+            assertEquals("b", reader.next().get(1));
+            assertEquals(2, reader.getLineNumber());
+            assertEquals("c", reader.next().get(1));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testContinuationIsCappedWhenTheQuoteNeverCloses() throws IOException {
+        StringBuilder csv = new StringBuilder("1,\"open\n");
+        for (int i = 0; i < CsvRecordReader.MAX_CONTINUATION_LINES + 50; i++) csv.append(i).append(",v\n");
+        csv.append("last,\"closed\"\n");
+        try (CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new StringReader(csv.toString())))) {
+            assertEquals("open", reader.next().get(1));
+            int rows = 0;
+            CsvRecord record;
+            while ((record = reader.next()) != null) {
+                rows++;
+                if (rows == 1) assertEquals("0", record.get(0));
+            }
+            assertEquals(CsvRecordReader.MAX_CONTINUATION_LINES + 51, rows);
+        }
+    }
+}
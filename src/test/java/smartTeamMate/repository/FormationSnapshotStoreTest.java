@@ -0,0 +1,53 @@
+package test.java.smartTeamMate.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.model.Team;
+import smartTeamMate.repository.FormationSnapshot;
+import smartTeamMate.repository.FormationSnapshotStore;
+import smartTeamMate.rules.TeamRules;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormationSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSnapshotRoundTripRebuildsTeams() throws Exception {
+        Player a = new Player("Ann", "P001", "ann@mail.com", Game.CHESS, 8, Role.STRATEGIST, 92, "Leader");
+        Player b = new Player("Bo", "P002", "bo@mail.com", Game.FIFA, 4, Role.ATTACKER, 60, "Thinker");
+        Player c = new Player("Cy", "P003", "cy@mail.com", Game.DOTA2, 6, Role.DEFENDER, 75, "Balanced");
+        Player d = new Player("Di", "P004", "di@mail.com", Game.CSGO, 5, Role.SUPPORTER, 70, "Balanced");
+        Team alpha = new Team("Team \"Alpha\", first");
+        alpha.addMember(a);
+        alpha.addMember(b);
+        Team beta = new Team("Team 2");
+        beta.addMember(c);
+        beta.addMember(d);
+        TeamRules rules = new TeamRules(2, 2, 1, 2, 0, 0, Map.of(Role.DEFENDER, 1), Map.of(), 3.5);
+
+        Path file = tempDir.resolve("formation.snapshot");
+        FormationSnapshotStore store = new FormationSnapshotStore();
+        store.save(new FormationSnapshot(List.of(alpha, beta), 2, rules, 2, 0.5), file);
+
+        // P004 has left since the snapshot was taken
+        FormationSnapshot loaded = store.load(file, List.of(a, b, c));
+
+        assertEquals(2, loaded.getTeamSize());
+        assertEquals(0.5, loaded.getSkillRange());
+        assertEquals(1, loaded.getMissingPlayers());
+        assertEquals(rules.toProperties(), loaded.getRules().toProperties());
+        assertEquals("Team \"Alpha\", first", loaded.getTeams().get(0).getName());
+        assertEquals(List.of(a, b), loaded.getTeams().get(0).getMembers());
+        assertEquals(List.of(c), loaded.getTeams().get(1).getMembers());
+    }
+}
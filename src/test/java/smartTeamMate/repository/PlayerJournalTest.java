@@ -0,0 +1,94 @@
+package test.java.smartTeamMate.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.repository.CSVhandler;
+import smartTeamMate.repository.PlayerJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerJournalTest {
+
+    private static final String HEADER = "id,name,email,game,skillLevel,role,personalityScore,personalityType";
+
+    @TempDir
+    Path tempDir;
+
+    private static Player player(int i) {
+        return new Player("Player " + i, String.format("P%03d", i), "p" + i + "@mail.com",
+                Game.CHESS, 1 + i % 10, Role.DEFENDER, 60, "Balanced");
+    }
+
+    @Test
+    void testConcurrentAppendsAreCompactedWithoutLoss() throws Exception {
+        Path csv = tempDir.resolve("players.csv");
+        CSVhandler handler = new CSVhandler(csv.toString(), HEADER);
+        PlayerJournal journal = new PlayerJournal(csv, HEADER, 64);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= 200; i++) {
+                Player p = player(i);
+                futures.add(pool.submit(() -> {
+                    journal.append(p);
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int inJournal = journal.readPlayers().size();
+        assertTrue(inJournal < 64, "journal should have been compacted");
+        assertEquals(200 - inJournal, handler.getPlayers().size());
+
+        journal.compact();
+        assertEquals(0, journal.readPlayers().size());
+        assertEquals(200, handler.getPlayers().stream().map(Player::getId).distinct().count());
+    }
+
+    @Test
+    void testCompactionFollowsTheFileHeader() throws IOException {
+        Path csv = tempDir.resolve("participants.csv");
+        Files.writeString(csv, "Name,ID,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType\n"
+                + "Player 1,P001,p1@mail.com,Chess,2,Defender,60,Balanced\n");
+        PlayerJournal journal = new PlayerJournal(csv, HEADER, 1000);
+        journal.append(player(1));
+        journal.append(player(2));
+        journal.compact();
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(3, lines.size(), "P001 is already in the file");
+        assertTrue(lines.get(2).startsWith("Player 2,P002,p2@mail.com,"), lines.get(2));
+    }
+
+    @Test
+    void testTornTailIsIgnoredAndRepaired() throws IOException {
+        Path csv = tempDir.resolve("players.csv");
+        new CSVhandler(csv.toString(), HEADER);
+        PlayerJournal journal = new PlayerJournal(csv, HEADER, 1000);
+        journal.append(player(1));
+
+        // Simulate a crash part way through writing the next entry
+        Files.write(Path.of(csv + ".journal"), new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+        assertEquals(1, journal.readPlayers().size());
+
+        journal.append(player(2));
+        List<Player> players = journal.readPlayers();
+        assertEquals(2, players.size());
+        assertEquals("P002", players.get(1).getId());
+    }
+}
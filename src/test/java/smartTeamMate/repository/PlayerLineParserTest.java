@@ -0,0 +1,39 @@
+package test.java.smartTeamMate.repository;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.repository.PlayerLineParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerLineParserTest {
+
+    @Test
+    void testParsesFieldsWithLenientEnumNames() {
+        Player p = PlayerLineParser.parse("P007,Jane Roe,jane@x.com,cs:go, 8 ,Strategist,92, leader ");
+
+        assertNotNull(p);
+        assertEquals("P007", p.getId());
+        assertEquals("Jane Roe", p.getName());
+        assertEquals("jane@x.com", p.getEmail());
+        assertEquals(Game.CSGO, p.getPreferredGame());
+        assertEquals(8, p.getSkillLevel());
+        assertEquals(Role.STRATEGIST, p.getPreferredRole());
+        assertEquals(92, p.getPersonalityScore());
+        assertEquals(Personality.LEADER, p.getPersonality());
+
+        assertEquals(Game.DOTA2, PlayerLineParser.parse("P1,A,a@x,Dota 2,5,Defender,60,Thinker").getPreferredGame());
+    }
+
+    @Test
+    void testMalformedRowsReturnNull() {
+        assertNull(PlayerLineParser.parse("P1,A,a@x,CSGO,5,Defender,60"));               // too few fields
+        assertNull(PlayerLineParser.parse("P1,A,a@x,CSGO,5,Defender,60,Leader,extra"));  // too many fields
+        assertNull(PlayerLineParser.parse("P1,A,a@x,Tetris,5,Defender,60,Leader"));      // unknown game
+        assertNull(PlayerLineParser.parse("P1,A,a@x,CSGO,five,Defender,60,Leader"));     // bad integer
+        assertNull(PlayerLineParser.parse("P1,A,a@x,CSGO,5,Defender,60,Leaders"));       // unknown personality
+    }
+}
@@ -0,0 +1,68 @@
+package test.java.smartTeamMate.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.model.Team;
+import smartTeamMate.repository.TeamRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAllFormatsWrittenInOnePass() throws IOException {
+        Team a = new Team("Team 1");
+        a.addMember(new Player("Ann", "P001", "ann@mail.com", Game.CHESS, 8, Role.STRATEGIST, 92, "Leader"));
+        a.addMember(new Player("Doe, Jo", "P002", "jo@mail.com", Game.FIFA, 4, Role.ATTACKER, 60, "Thinker"));
+        Team b = new Team("Team \"B\"");
+        b.addMember(new Player("Cy", "P003", "cy@mail.com", Game.CHESS, 6, Role.DEFENDER, 75, "Balanced"));
+
+        Path summary = tempDir.resolve("teams.csv");
+        new TeamRepository(summary.toString()).exportAll(List.of(a, b));
+
+        List<String> rows = Files.readAllLines(summary);
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).startsWith("Team_Name"));
+        assertEquals("Team 1,2,6.00,1,1,0,STRATEGIST:1|ATTACKER:1,CHESS:1|FIFA:1,P001|P002", rows.get(1));
+
+        List<String> json = Files.readAllLines(tempDir.resolve("teams.jsonl"));
+        assertEquals(2, json.size());
+        assertTrue(json.get(1).startsWith("{\"team\":\"Team \\\"B\\\"\",\"size\":1,"));
+        assertTrue(json.get(0).endsWith("\"members\":[\"P001\",\"P002\"]}"));
+
+        List<String> assignments = Files.readAllLines(tempDir.resolve("teams_assignments.csv"));
+        assertEquals(4, assignments.size());
+        assertEquals("Team 1,P002,\"Doe, Jo\",jo@mail.com,FIFA,4,ATTACKER,60,Thinker", assignments.get(2));
+    }
+
+    @Test
+    void testExportKeepsTeamsSavedEarlier() throws IOException {
+        Team a = new Team("Team 1");
+        a.addMember(new Player("Ann", "P001", "ann@mail.com", Game.CHESS, 8, Role.STRATEGIST, 92, "Leader"));
+        Team b = new Team("Team 2");
+        b.addMember(new Player("Cy", "P003", "cy@mail.com", Game.CHESS, 6, Role.DEFENDER, 75, "Balanced"));
+
+        Path summary = tempDir.resolve("teams.csv");
+        TeamRepository repository = new TeamRepository(summary.toString());
+        repository.exportAll(List.of(a));
+        repository.exportAll(List.of(b));
+
+        List<String> rows = Files.readAllLines(summary);
+        assertEquals(3, rows.size(), "one header and both teams");
+        assertTrue(rows.get(1).startsWith("Team 1,"));
+        assertTrue(rows.get(2).startsWith("Team 2,"));
+        assertEquals(2, Files.readAllLines(tempDir.resolve("teams.jsonl")).size());
+        assertEquals(3, Files.readAllLines(tempDir.resolve("teams_assignments.csv")).size());
+    }
+}
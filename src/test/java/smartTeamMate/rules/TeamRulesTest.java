@@ -1,7 +1,14 @@
 package test.java.smartTeamMate.rules;
 
 import org.junit.jupiter.api.Test;
+import smartTeamMate.model.*;
 import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.TeamEvaluator;
+import smartTeamMate.service.TeamIssues;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,4 +25,75 @@ class TeamRulesTest {
         assertEquals(1, rules.getMaxLeaders());
         assertEquals(2, rules.getMaxThinkers());
     }
+
+    @Test
+    void testRulesFromPropertiesAddConstraints() {
+        Properties props = new Properties();
+        props.setProperty("gameCap", "3");
+        props.setProperty("roleCap.defender", "1");
+        props.setProperty("gameMin.CSGO", "1");
+        props.setProperty("minAverageSkill", "4.5");
+        TeamRules rules = TeamRules.fromProperties(props);
+
+        assertEquals(3, rules.getGameCap());
+        assertEquals(3, rules.getMinRoles());
+        assertEquals(1, rules.getRoleCap(Role.DEFENDER));
+        assertEquals(1, rules.getGameMinimum(Game.CSGO));
+
+        Team team = new Team("Alpha");
+        team.addMember(new Player("A","1","a@x.com",Game.FIFA,4,Role.DEFENDER,80,"Leader"));
+        team.addMember(new Player("B","2","b@x.com",Game.FIFA,4,Role.DEFENDER,60,"Thinker"));
+        team.addMember(new Player("C","3","c@x.com",Game.FIFA,4,Role.STRATEGIST,70,"Balanced"));
+        team.addMember(new Player("D","4","d@x.com",Game.DOTA2,4,Role.SUPPORTER,70,"Balanced"));
+
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        TeamIssues issues = evaluator.evaluate(team);
+        assertTrue(issues.roleCapExceeded);
+        assertTrue(issues.gameMinimumMissing);
+        assertTrue(issues.belowSkillFloor);
+        assertFalse(issues.tooManyGamePlayers);
+        assertFalse(evaluator.teamValidator(team));
+    }
+
+    @Test
+    void testInvalidRulesRejected() {
+        Properties props = new Properties();
+        props.setProperty("minLeaders", "2");
+        assertThrows(IllegalArgumentException.class, () -> TeamRules.fromProperties(props));
+
+        props.setProperty("maxLeaders", "2");
+        props.setProperty("roleCap.GOALKEEPER", "1");
+        assertThrows(IllegalArgumentException.class, () -> TeamRules.fromProperties(props));
+    }
+
+    @Test
+    void testRulesAdaptedToGamePartition() {
+        TeamRules rules = new TeamRules(2, 3, 1, 2, 1, 1, Map.of(), Map.of(Game.CSGO, 1, Game.CHESS, 1), 0.0);
+
+        TeamRules chess = rules.forGames(Set.of(Game.CHESS), 5);
+        assertEquals(5, chess.getGameCap());
+        assertEquals(1, chess.getGameMinimum(Game.CHESS));
+        assertEquals(0, chess.getGameMinimum(Game.CSGO));
+
+        TeamRules wide = rules.forGames(Set.of(Game.CHESS, Game.FIFA, Game.CSGO), 5);
+        assertEquals(2, wide.getGameCap());
+    }
+
+    @Test
+    void testSkillFloorAcceptsExactBoundary() {
+        TeamRules rules = new TeamRules(20, 0, 20, 20, 0, 0, Map.of(), Map.of(), 4.15);
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+
+        // 20 members with a skill sum of 83: an average of exactly 4.15
+        Team team = new Team("Boundary");
+        for (int i = 0; i < 20; i++) {
+            team.addMember(new Player("P" + i, String.valueOf(i), "p@x.com", Game.CHESS, i < 3 ? 5 : 4,
+                    Role.DEFENDER, 60, "Balanced"));
+        }
+        assertFalse(evaluator.evaluate(team).belowSkillFloor);
+
+        team.swapPlayers(team.getMembers().get(0),
+                new Player("Low", "L", "p@x.com", Game.CHESS, 4, Role.DEFENDER, 60, "Balanced"));
+        assertTrue(evaluator.evaluate(team).belowSkillFloor);
+    }
 }
@@ -0,0 +1,34 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.BucketMatchingConstructor;
+import smartTeamMate.service.TeamEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketMatchingConstructorTest {
+
+    @Test
+    void testUnfillableStartIsSkippedForTheNextBucket() {
+        // The largest bucket is tried first, but a team started there never meets the game minimum
+        TeamRules rules = new TeamRules(2, 1, 2, 2, 0, 0, Map.of(), Map.of(Game.values()[1], 1), 0);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 10; i++) players.add(TestPlayers.player(i, 0, 0, i + 1, "Balanced"));
+        for (int i = 10; i < 14; i++) players.add(TestPlayers.player(i, 1, 0, 5, "Balanced"));
+
+        List<Team> teams = new BucketMatchingConstructor(rules).construct(players, 2);
+
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        List<Team> valid = teams.stream().filter(evaluator::teamValidator).toList();
+        assertEquals(4, valid.size(), "one valid team per player of the scarce game");
+        assertEquals(players.size(), teams.stream().mapToInt(t -> t.getMembers().size()).sum());
+    }
+}
@@ -0,0 +1,66 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.repository.PlayerRepository;
+import smartTeamMate.service.BulkImportReport;
+import smartTeamMate.service.BulkSurveyImporter;
+import smartTeamMate.service.PersonalityClassifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkSurveyImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testValidRowsImportedWithSequentialIds() throws Exception {
+        Path responses = tempDir.resolve("responses.csv");
+        Files.writeString(responses, String.join("\n",
+                "name,email,game,role,skill,q1,q2,q3,q4,q5",
+                "Ann,ann@mail.com,chess,Strategist,7,5,5,5,5,5",
+                "Bob,bob@mail,FIFA,Attacker,4,3,3,3,3,3",          // bad email
+                "\"Lee, Cy\",cy@mail.com,CSGO,Defender,9,2,2,2,2,2",
+                "Dee,dee@mail.com,DOTA2,Supporter,11,4,4,4,4,4")); // skill out of range
+
+        PlayerRepository repository = new PlayerRepository(tempDir.resolve("players.csv").toString());
+        BulkImportReport report = new BulkSurveyImporter(new PersonalityClassifier(), 2)
+                .importResponses(responses, repository);
+
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertTrue(report.getRejections().get(0).startsWith("Line 3:"));
+
+        List<Player> players = repository.findAll();
+        assertEquals(List.of("P001", "P002"), players.stream().map(Player::getId).toList());
+        assertEquals(Personality.LEADER, players.get(0).getPersonality());
+        assertEquals("Lee, Cy", players.get(1).getName());
+        assertEquals(Personality.THINKER, players.get(1).getPersonality());
+    }
+
+    @Test
+    void testQuotedValuesAcceptedAndMultiLineRowsReportTheirFirstLine() throws Exception {
+        Path responses = tempDir.resolve("responses.csv");
+        Files.writeString(responses, String.join("\n",
+                "name,email,game,role,skill,q1,q2,q3,q4,q5",
+                "Ann,ann@mail.com,\"Valorant\",\"Defender\",\"7\",5,5,5,5,5",
+                "Bob,bob@mail.com, \"chess\" , \"Strategist\",\" 4\", \"3\",3,3,3,3",
+                "\"Two",
+                "Lines\",two@mail,FIFA,Attacker,4,3,3,3,3,3"));     // bad email
+
+        PlayerRepository repository = new PlayerRepository(tempDir.resolve("players.csv").toString());
+        BulkImportReport report = new BulkSurveyImporter(new PersonalityClassifier(), 10)
+                .importResponses(responses, repository);
+
+        assertEquals(2, report.getImported(), report.getRejections().toString());
+        assertEquals(1, report.getRejected());
+        assertTrue(report.getRejections().get(0).startsWith("Line 4:"), report.getRejections().get(0));
+    }
+}
@@ -0,0 +1,82 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.ClusterSeeder;
+import smartTeamMate.service.ConstructionStrategy;
+import smartTeamMate.service.FeasibilityAnalyzer;
+import smartTeamMate.service.SkillBalancer;
+import smartTeamMate.service.TeamBuilder;
+import smartTeamMate.service.TeamEvaluator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterSeederTest {
+
+    @Test
+    void testSeparatedGroupsFormTheirOwnClusters() {
+        // Three groups that differ in every attribute, interleaved in the input
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            int g = i % 3;
+            players.add(TestPlayers.player(i, g * 2, g * 2, 1 + g * 4 + i % 2, TestPlayers.TYPES[g]));
+        }
+
+        int[] cluster = new ClusterSeeder(new TeamRules(), new Random(3)).cluster(players, 3);
+
+        for (int i = 3; i < players.size(); i++) {
+            assertEquals(cluster[i % 3], cluster[i], "player " + i + " left its group");
+        }
+        assertEquals(Set.of(0, 1, 2), Set.of(cluster[0], cluster[1], cluster[2]));
+    }
+
+    @Test
+    void testParallelAssignmentIsRepeatable() {
+        List<Player> players = TestPlayers.random(5000, 8);
+        int[] first = new ClusterSeeder(new TeamRules(), new Random(21)).cluster(players, 5);
+        int[] second = new ClusterSeeder(new TeamRules(), new Random(21)).cluster(players, 5);
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void testKMeansTeamsAreValidAndPlaceEveryPlayerOnce() {
+        // A role cap makes the dealing step skip teams that already have a defender
+        TeamRules rules = new TeamRules(2, 3, 1, 2, 1, 1, Map.of(Role.DEFENDER, 1), Map.of(), 0);
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        SkillBalancer balancer = new SkillBalancer(evaluator, 2, 2000);
+        List<Player> players = TestPlayers.random(300, 13);
+        try {
+            TeamBuilder builder = new TeamBuilder(rules, evaluator, balancer, ConstructionStrategy.CLUSTER_SEEDED,
+                    1, new Random(5));
+            List<Team> teams = builder.buildTeams(players, 5);
+
+            Set<Player> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Team t : teams) {
+                for (Player p : t.getMembers()) assertTrue(seen.add(p), p.getId() + " is in two teams");
+            }
+            assertEquals(players.size(), seen.size(), "every player is placed");
+
+            List<Team> valid = teams.stream().filter(evaluator::teamValidator).toList();
+            int bound = new FeasibilityAnalyzer(rules, Logger.getLogger("test")).analyze(players, 5).getMaxValidTeams();
+            for (Team t : valid) {
+                assertEquals(5, t.getMembers().size());
+                assertTrue(t.getMembers().stream().filter(p -> p.getPreferredRole() == Role.DEFENDER).count() <= 1);
+            }
+            assertTrue(valid.size() >= bound * 0.9, valid.size() + " valid teams of a possible " + bound);
+        } finally {
+            balancer.shutdown();
+        }
+    }
+}
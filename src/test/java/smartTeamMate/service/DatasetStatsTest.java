@@ -0,0 +1,35 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.*;
+import smartTeamMate.service.DatasetStats;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetStatsTest {
+
+    @Test
+    void testParallelCollectMatchesSequentialCounts() {
+        Personality[] personalities = Personality.values();
+        List<Player> players = TestPlayers.random(5000, 7);
+
+        DatasetStats stats = players.parallelStream().collect(DatasetStats.collector());
+
+        assertEquals(players.size(), stats.getPlayerCount());
+        for (Personality p : personalities) {
+            assertEquals(players.stream().filter(x -> x.getPersonality() == p).count(), stats.count(p));
+        }
+        for (Game g : Game.values()) {
+            assertEquals(players.stream().filter(x -> x.getPreferredGame() == g).count(), stats.count(g));
+        }
+        for (int skill = 1; skill <= 10; skill++) {
+            int s = skill;
+            assertEquals(players.stream().filter(x -> x.getSkillLevel() == s).count(), stats.countSkill(skill));
+        }
+        assertEquals(players.stream().mapToInt(Player::getSkillLevel).average().orElse(0),
+                stats.averageSkill(), 1e-9);
+        assertEquals(Role.values().length, stats.distinctRoles());
+    }
+}
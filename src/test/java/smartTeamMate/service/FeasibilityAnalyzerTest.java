@@ -0,0 +1,47 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.*;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.FeasibilityAnalyzer;
+import smartTeamMate.service.FeasibilityReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeasibilityAnalyzerTest {
+
+    private final FeasibilityAnalyzer analyzer = new FeasibilityAnalyzer(new TeamRules(), Logger.getLogger("test"));
+
+    @Test
+    void testSingleGameDatasetIsInfeasible() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            players.add(new Player("P" + i, String.valueOf(i), "p@x.com", Game.VALORANT, 5,
+                    Role.values()[i % 5], 60, i < 2 ? "Leader" : i < 5 ? "Thinker" : "Balanced"));
+        }
+
+        FeasibilityReport report = analyzer.analyze(players, 5);
+
+        assertEquals(0, report.getMaxValidTeams());
+        assertEquals("game cap", report.getLimitingFactor());
+    }
+
+    @Test
+    void testBoundLimitedByLeaders() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            players.add(new Player("P" + i, String.valueOf(i), "p@x.com", Game.values()[i % 6], 5,
+                    Role.values()[i % 5], 60, i < 2 ? "Leader" : i < 6 ? "Thinker" : "Balanced"));
+        }
+
+        FeasibilityReport report = analyzer.analyze(players, 3);
+
+        assertEquals(4, report.getTeamsBySize());
+        assertEquals(2, report.getMaxValidTeams());
+        assertEquals("personality mix", report.getLimitingFactor());
+    }
+}
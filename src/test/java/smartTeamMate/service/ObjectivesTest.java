@@ -0,0 +1,95 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.*;
+import smartTeamMate.rules.CompiledRules.Violation;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.Objectives;
+import smartTeamMate.service.SwapObjective;
+import smartTeamMate.service.WeightedObjective;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectivesTest {
+
+    @Test
+    void testSwapDeltasMatchFullEvaluation() {
+        Random r = new Random(11);
+        String[] personalities = {"Leader", "Thinker", "Balanced"};
+        List<Team> teams = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            Team team = new Team("T" + t);
+            for (int k = 0; k < 4; k++) {
+                team.addMember(new Player("P" + t + k, t + "-" + k, "p@x.com",
+                        Game.values()[r.nextInt(Game.values().length)], 1 + r.nextInt(10),
+                        Role.values()[r.nextInt(Role.values().length)], 50 + r.nextInt(50),
+                        personalities[r.nextInt(3)]));
+            }
+            teams.add(team);
+        }
+
+        SwapObjective objective = new WeightedObjective()
+                .add(Objectives.standard(new TeamRules()), 1.0)
+                .add(Objectives.skillVariance(), 2.0)
+                .add(Objectives.roleCoverage(), 0.5)
+                .add(Objectives.personalityScoreSpread(), 0.1)
+                .add(Objectives.gameDiversity(), 1.5);
+
+        for (int step = 0; step < 200; step++) {
+            int a = r.nextInt(teams.size());
+            int b = r.nextInt(teams.size());
+            if (a == b) continue;
+            List<Player> ma = teams.get(a).getMembers();
+            List<Player> mb = teams.get(b).getMembers();
+            int ia = r.nextInt(ma.size());
+            int ib = r.nextInt(mb.size());
+            Player pa = ma.get(ia);
+            Player pb = mb.get(ib);
+
+            double predicted = objective.bind(teams).valueAfterSwap(a, pa, b, pb);
+            ma.set(ia, pb);
+            mb.set(ib, pa);
+            assertEquals(objective.bind(teams).value(), predicted, 1e-6);
+        }
+    }
+
+    @Test
+    void testWeightsFromProperties() {
+        TeamRules rules = new TeamRules();
+        List<Team> teams = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            Team team = new Team("T" + t);
+            for (int k = 0; k < 3; k++) {
+                team.addMember(new Player("P" + t + k, t + "-" + k, "p@x.com", Game.CHESS, 1 + 3 * t + k,
+                        Role.values()[k], 60, "Balanced"));
+            }
+            teams.add(team);
+        }
+
+        assertEquals(Objectives.standard(rules).bind(teams).value(),
+                Objectives.fromProperties(rules, new Properties()).bind(teams).value(), 1e-9);
+
+        Properties props = new Properties();
+        props.setProperty("objective.skillRange", "0");
+        props.setProperty("objective.gameDiversity", "2");
+        props.setProperty("objective.violation.GAME_OVERFLOW", "0");
+        double expected = Objectives.ruleViolations(rules, withoutGameOverflow()).bind(teams).value()
+                + 2 * Objectives.gameDiversity().bind(teams).value();
+        assertEquals(expected, Objectives.fromProperties(rules, props).bind(teams).value(), 1e-9);
+
+        props.setProperty("objective.roleCoverage", "heavy");
+        assertThrows(IllegalArgumentException.class, () -> Objectives.fromProperties(rules, props));
+    }
+
+    private static Map<Violation, Double> withoutGameOverflow() {
+        Map<Violation, Double> weights = Objectives.defaultViolationWeights();
+        weights.put(Violation.GAME_OVERFLOW, 0.0);
+        return weights;
+    }
+}
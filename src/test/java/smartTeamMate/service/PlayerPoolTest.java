@@ -0,0 +1,79 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+import smartTeamMate.service.PlayerPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerPoolTest {
+
+    @Test
+    void testRemovingFromTheMiddleKeepsPositions() {
+        List<Player> leaders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) leaders.add(TestPlayers.player(i, 0, 0, 5, "Leader"));
+        PlayerPool pool = new PlayerPool(leaders);
+
+        // The last leader is swapped into the freed slot and must still be removable
+        assertTrue(pool.remove(leaders.get(1)));
+        assertSame(leaders.get(4), pool.get(PlayerPool.LEADER, 1));
+        assertTrue(pool.remove(leaders.get(4)));
+        assertFalse(pool.contains(leaders.get(4)));
+        assertFalse(pool.remove(leaders.get(4)), "a player is removed only once");
+
+        assertEquals(3, pool.size(PlayerPool.LEADER));
+        assertEquals(List.of(leaders.get(0), leaders.get(3), leaders.get(2)), pool.snapshot(PlayerPool.LEADER));
+    }
+
+    @Test
+    void testMembershipIsByIdentity() {
+        Player a = new Player("Same", "P1", "same@mail.com", Game.CHESS, 5, Role.DEFENDER, 60, "Thinker");
+        Player twin = new Player("Same", "P1", "same@mail.com", Game.CHESS, 5, Role.DEFENDER, 60, "Thinker");
+        PlayerPool pool = new PlayerPool();
+        pool.add(a);
+        pool.add(a);
+        pool.add(twin);
+
+        assertEquals(2, pool.size(), "equal players are distinct entries, the same one is added once");
+        assertTrue(pool.remove(twin));
+        assertTrue(pool.contains(a));
+        assertFalse(pool.contains(twin));
+        assertSame(a, pool.get(PlayerPool.THINKER, 0));
+    }
+
+    @Test
+    void testRandomOperationsMatchAReferenceList() {
+        List<Player> players = TestPlayers.random(60, 3);
+        PlayerPool pool = new PlayerPool();
+        List<Player> expected = new ArrayList<>();
+        Random r = new Random(17);
+
+        for (int step = 0; step < 2000; step++) {
+            Player p = players.get(r.nextInt(players.size()));
+            if (r.nextBoolean()) {
+                pool.add(p);
+                if (expected.stream().noneMatch(e -> e == p)) expected.add(p);
+            } else {
+                assertEquals(expected.removeIf(e -> e == p), pool.remove(p));
+            }
+
+            assertEquals(expected.size(), pool.size());
+            int total = 0;
+            for (int personality = 0; personality < 3; personality++) {
+                for (int i = 0; i < pool.size(personality); i++) {
+                    Player q = pool.get(personality, i);
+                    assertEquals(personality, PlayerPool.personalityIndex(q));
+                    assertTrue(pool.contains(q));
+                    total++;
+                }
+            }
+            assertEquals(expected.size(), total);
+        }
+    }
+}
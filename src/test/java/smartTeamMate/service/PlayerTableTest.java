@@ -0,0 +1,76 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.*;
+import smartTeamMate.rules.CompiledRules;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.PlayerTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerTableTest {
+
+    @Test
+    void testSwapUpdatesSumsAndWritesBack() {
+        Player a = new Player("A","1","a@x.com",Game.CSGO,9,Role.DEFENDER,80,"Leader");
+        Player b = new Player("B","2","b@x.com",Game.FIFA,3,Role.SUPPORTER,60,"Thinker");
+        Player c = new Player("C","3","c@x.com",Game.CHESS,2,Role.ATTACKER,85,"Leader");
+        Player d = new Player("D","4","d@x.com",Game.DOTA2,4,Role.STRATEGIST,65,"Thinker");
+
+        Team t1 = new Team("T1");
+        t1.addMember(a);
+        t1.addMember(b);
+        Team t2 = new Team("T2");
+        t2.addMember(c);
+        t2.addMember(d);
+
+        PlayerTable table = PlayerTable.fromTeams(List.of(t1, t2));
+        assertEquals(PlayerTable.LEADER, table.personality(table.member(0, 0)));
+        assertEquals(12, table.teamSkillSum(0));
+        assertEquals(3.0, table.skillRange());
+
+        table.swap(0, 0, 1, 0);
+        assertEquals(5, table.teamSkillSum(0));
+        assertEquals(13, table.teamSkillSum(1));
+
+        table.writeBack(List.of(t1, t2));
+        assertSame(c, t1.getMembers().get(0));
+        assertSame(a, t2.getMembers().get(0));
+    }
+
+    @Test
+    void testRuleCountersFollowSwaps() {
+        // Loose enough that random teams are often but not always valid
+        CompiledRules checks = new TeamRules(2, 2, 1, 2, 0, 0).compiled();
+        List<Team> teams = new ArrayList<>();
+        List<Player> players = TestPlayers.random(40, 5);
+        for (int t = 0; t < 8; t++) {
+            Team team = new Team("T" + t);
+            for (int k = 0; k < 5; k++) team.addMember(players.get(t * 5 + k));
+            teams.add(team);
+        }
+        PlayerTable table = PlayerTable.fromTeams(teams);
+
+        Random r = new Random(9);
+        int valid = 0;
+        for (int step = 0; step < 500; step++) {
+            int a = r.nextInt(8), b = r.nextInt(8), sa = r.nextInt(5), sb = r.nextInt(5);
+            if (a == b) continue;
+
+            List<Player> after = new ArrayList<>(teams.get(a).getMembers());
+            after.set(sa, teams.get(b).getMembers().get(sb));
+            assertEquals(checks.test(CompiledRules.count(after)), table.isValidWith(a, sa, table.member(b, sb), checks));
+
+            table.swap(a, sa, b, sb);
+            table.writeBack(teams);
+            assertEquals(checks.test(CompiledRules.count(teams.get(a).getMembers())), table.isValid(a, checks));
+            assertEquals(checks.test(CompiledRules.count(teams.get(b).getMembers())), table.isValid(b, checks));
+            if (table.isValid(a, checks)) valid++;
+        }
+        assertTrue(valid > 0 && valid < 400, "both outcomes should be exercised, valid=" + valid);
+    }
+}
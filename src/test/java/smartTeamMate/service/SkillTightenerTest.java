@@ -0,0 +1,45 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.*;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.FormationControl;
+import smartTeamMate.service.PlayerTable;
+import smartTeamMate.service.SkillTightener;
+import smartTeamMate.service.TeamEvaluator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillTightenerTest {
+
+    @Test
+    void testTightensExtremeTeamsAndKeepsThemValid() {
+        TeamRules rules = new TeamRules();
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+
+        Team strong = new Team("Strong");
+        strong.addMember(new Player("A","1","a@x.com",Game.CSGO,9,Role.DEFENDER,80,"Leader"));
+        strong.addMember(new Player("B","2","b@x.com",Game.FIFA,9,Role.SUPPORTER,60,"Thinker"));
+        strong.addMember(new Player("C","3","c@x.com",Game.CHESS,9,Role.STRATEGIST,70,"Balanced"));
+
+        Team weak = new Team("Weak");
+        weak.addMember(new Player("D","4","d@x.com",Game.DOTA2,1,Role.ATTACKER,85,"Leader"));
+        weak.addMember(new Player("E","5","e@x.com",Game.VALORANT,1,Role.COORDINATOR,65,"Thinker"));
+        weak.addMember(new Player("F","6","f@x.com",Game.BASKETBALL,1,Role.DEFENDER,70,"Balanced"));
+
+        List<Team> teams = List.of(strong, weak);
+        PlayerTable table = PlayerTable.fromTeams(teams);
+        assertEquals(8.0, table.skillRange(), 1e-9);
+
+        int swaps = new SkillTightener(rules).tighten(table, 0.5, 10, FormationControl.none());
+        table.writeBack(teams);
+
+        assertTrue(swaps > 0);
+        assertTrue(table.skillRange() < 8.0);
+        assertEquals(table.skillRange(), Math.abs(strong.getTotalSkillAvg() - weak.getTotalSkillAvg()), 1e-6);
+        assertTrue(evaluator.teamValidator(strong));
+        assertTrue(evaluator.teamValidator(weak));
+    }
+}
@@ -0,0 +1,34 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Personality;
+import smartTeamMate.model.Player;
+import smartTeamMate.service.StratifiedSharder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StratifiedSharderTest {
+
+    @Test
+    void testShardsFollowCohortMix() {
+        List<Player> players = TestPlayers.random(1003, 3);
+
+        List<List<Player>> shards = new StratifiedSharder().split(players, 4);
+
+        assertEquals(4, shards.size());
+        assertEquals(players.size(), shards.stream().mapToInt(List::size).sum());
+        for (Personality type : Personality.values()) {
+            long total = players.stream().filter(p -> p.getPersonality() == type).count();
+            for (List<Player> shard : shards) {
+                assertTrue(shard.size() == 250 || shard.size() == 251);
+                long count = shard.stream().filter(p -> p.getPersonality() == type).count();
+                assertTrue(Math.abs(count * 4 - total) <= 4, type + " count " + count + " of " + total);
+                double average = shard.stream().mapToInt(Player::getSkillLevel).average().orElse(0);
+                double overall = players.stream().mapToInt(Player::getSkillLevel).average().orElse(0);
+                assertEquals(overall, average, 0.25);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Role;
+import smartTeamMate.service.SurveyInput;
+import smartTeamMate.service.SurveyValidator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SurveyInputTest {
+
+    @Test
+    void testChecksAcceptValidInputAndFlagInvalid() {
+        assertEquals(7, SurveyInput.skill(" 7 "));
+        assertEquals(SurveyInput.INVALID, SurveyInput.skill("11"));
+        assertEquals(SurveyInput.INVALID, SurveyInput.skill("seven"));
+        assertEquals(5, SurveyInput.answer("5"));
+        assertEquals(SurveyInput.INVALID, SurveyInput.answer("0"));
+
+        assertEquals(Game.DOTA2, SurveyInput.game("dota2"));
+        assertNull(SurveyInput.game("tetris"));
+        assertEquals(Role.COORDINATOR, SurveyInput.role(" Coordinator"));
+
+        assertTrue(SurveyInput.isEmail(" jane@mail.com "));
+        assertFalse(SurveyInput.isEmail("jane@mail"));
+
+        // Range variants read a field inside a larger line
+        String row = "x,8,y";
+        assertEquals(8, SurveyInput.skill(row, 2, 3));
+    }
+
+    @Test
+    void testThrowingWrappersDistinguishRangeFromNonNumeric() {
+        assertThrows(NumberFormatException.class, () -> SurveyValidator.checkSkill("abc"));
+        IllegalArgumentException range = assertThrows(IllegalArgumentException.class,
+                () -> SurveyValidator.checkSkill("42"));
+        assertFalse(range instanceof NumberFormatException);
+    }
+}
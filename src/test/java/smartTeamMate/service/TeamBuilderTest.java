@@ -3,12 +3,17 @@ package test.java.smartTeamMate.service;
 import org.junit.jupiter.api.Test;
 import smartTeamMate.model.*;
 import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.ConstructionStrategy;
 import smartTeamMate.service.SkillBalancer;
 import smartTeamMate.service.TeamBuilder;
 import smartTeamMate.service.TeamEvaluator;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -128,5 +133,64 @@ class TeamBuilderTest {
         }
     }
 
+    @Test
+    void testBucketMatchingBuildsValidTeams() {
+        TeamRules rules = new TeamRules();
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        SkillBalancer sb = new SkillBalancer(evaluator, 2, 200);
+        TeamBuilder builder = new TeamBuilder(rules, evaluator, sb, ConstructionStrategy.BUCKET_MATCHING);
+
+        List<Player> players = TestPlayers.cycling(40, i -> i % 8 == 0 ? "Leader" : i % 8 < 3 ? "Thinker" : "Balanced");
+
+        List<Team> teams = builder.buildTeams(players, 5);
+
+        long valid = teams.stream().filter(evaluator::teamValidator).count();
+        assertEquals(5, valid);
+        assertEquals(players.size(), teams.stream().mapToInt(t -> t.getMembers().size()).sum());
+    }
+
+    @Test
+    void testClusterSeedingBuildsValidTeams() {
+        TeamRules rules = new TeamRules();
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        SkillBalancer sb = new SkillBalancer(evaluator, 2, 200);
+        TeamBuilder builder = new TeamBuilder(rules, evaluator, sb, ConstructionStrategy.CLUSTER_SEEDED,
+                1, new Random(3));
+
+        List<Player> players = TestPlayers.cycling(40, i -> i % 8 == 0 ? "Leader" : i % 8 < 3 ? "Thinker" : "Balanced");
+
+        List<Team> teams = builder.buildTeams(players, 5);
 
+        long valid = teams.stream().filter(evaluator::teamValidator).count();
+        assertEquals(5, valid);
+        Set<Player> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        teams.forEach(t -> t.getMembers().forEach(p -> assertTrue(seen.add(p))));
+        assertEquals(players.size(), seen.size());
+    }
+
+    @Test
+    void testParallelRepairKeepsValidTeamsDisjoint() {
+        TeamRules rules = new TeamRules();
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        SkillBalancer sb = new SkillBalancer(evaluator, 2, 200);
+        TeamBuilder builder = new TeamBuilder(rules, evaluator, sb, ConstructionStrategy.PERSONALITY_SNAKE, 4);
+
+        // Games and roles change only every few players, so the snake build needs repairs
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            players.add(TestPlayers.player(i, i / 5, i / 2, i % 10 + 1,
+                    i % 5 == 0 ? "Leader" : i % 5 < 3 ? "Thinker" : "Balanced"));
+        }
+
+        List<Team> teams = builder.buildTeams(players, 4);
+
+        Set<Player> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Team t : teams) {
+            if (!evaluator.teamValidator(t)) continue;
+            for (Player p : t.getMembers()) {
+                assertTrue(seen.add(p), "Player " + p.getName() + " appears in two valid teams");
+            }
+        }
+        assertFalse(seen.isEmpty());
+    }
 }
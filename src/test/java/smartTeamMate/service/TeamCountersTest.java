@@ -0,0 +1,51 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Team;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.TeamCounters;
+import smartTeamMate.service.TeamEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamCountersTest {
+
+    @Test
+    void testSwapCheckMatchesFullRecount() {
+        TeamRules rules = new TeamRules();
+        TeamEvaluator evaluator = new TeamEvaluator(rules);
+        List<Player> players = TestPlayers.random(400, 11);
+        Random random = new Random(5);
+
+        List<Team> teams = new ArrayList<>();
+        List<TeamCounters> counters = new ArrayList<>();
+        for (int start = 0; start + 4 <= players.size(); start += 4) {
+            Team team = new Team("Team " + teams.size());
+            players.subList(start, start + 4).forEach(team::addMember);
+            teams.add(team);
+            counters.add(new TeamCounters(team, rules));
+        }
+
+        int validSwaps = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int t = random.nextInt(teams.size());
+            Team team = teams.get(t);
+            Player out = team.getMembers().get(random.nextInt(team.getMembers().size()));
+            Player in = players.get(random.nextInt(players.size()));
+
+            Team swapped = new Team("Swapped");
+            for (Player p : team.getMembers()) swapped.addMember(p == out ? in : p);
+
+            boolean expected = evaluator.teamValidator(swapped);
+            assertEquals(expected, counters.get(t).validAfterSwap(out, in), "swap " + i + " in team " + t);
+            if (expected) validSwaps++;
+        }
+        // Both outcomes must actually be exercised
+        assertTrue(validSwaps > 0 && validSwaps < 20_000);
+    }
+}
@@ -2,9 +2,16 @@ package test.java.smartTeamMate.service;
 
 import smartTeamMate.model.*;
 import org.junit.jupiter.api.Test;
+import smartTeamMate.repository.FormationSnapshot;
+import smartTeamMate.rules.TeamRules;
+import smartTeamMate.service.FormationHandle;
+import smartTeamMate.service.FormationStage;
 import smartTeamMate.service.TeamService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,4 +32,145 @@ class TeamServiceTest {
         assertEquals(1, teams.size());
         assertEquals(3, teams.get(0).getMembers().size());
     }
+
+    @Test
+    void testPortfolioReturnsBestValidFormation() {
+        TeamService service = new TeamService();
+
+        List<Player> players = List.of(
+                new Player("A","1","a@x.com",Game.VALORANT,6,Role.DEFENDER,80,"Leader"),
+                new Player("B","2","b@x.com",Game.CSGO,7,Role.SUPPORTER,60,"Thinker"),
+                new Player("C","3","c@x.com",Game.VALORANT,6,Role.STRATEGIST,70,"Balanced"),
+                new Player("D","4","d@x.com",Game.FIFA,5,Role.ATTACKER,92,"Leader"),
+                new Player("E","5","e@x.com",Game.CHESS,8,Role.COORDINATOR,55,"Thinker"),
+                new Player("F","6","f@x.com",Game.DOTA2,6,Role.DEFENDER,75,"Balanced")
+        );
+
+        List<Team> teams = service.createTeamsPortfolio(players, 3, 4, 5000);
+
+        assertEquals(2, teams.size());
+        teams.forEach(t -> assertEquals(3, t.getMembers().size()));
+    }
+
+    @Test
+    void testAsyncFormationPublishesProgress() throws Exception {
+        TeamService service = new TeamService();
+
+        List<Player> players = List.of(
+                new Player("A","1","a@x.com",Game.VALORANT,6,Role.DEFENDER,80,"Leader"),
+                new Player("B","2","b@x.com",Game.CSGO,7,Role.SUPPORTER,60,"Thinker"),
+                new Player("C","3","c@x.com",Game.VALORANT,6,Role.STRATEGIST,70,"Balanced")
+        );
+
+        List<FormationStage> stages = new CopyOnWriteArrayList<>();
+        FormationHandle handle = service.createTeamsAsync(players, 3, 10_000, p -> stages.add(p.getStage()));
+
+        List<Team> teams = handle.getResult().get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, teams.size());
+        assertEquals(FormationStage.DONE, stages.get(stages.size() - 1));
+        assertEquals(1, handle.getLatestProgress().getScore().getValidTeams());
+    }
+
+    @Test
+    void testHierarchicalFormationAcrossShards() {
+        TeamService service = new TeamService();
+        List<Player> players = TestPlayers.cycling(60, i -> TestPlayers.TYPES[i % 3]);
+
+        List<Team> teams = service.createTeamsHierarchical(players, 3, 20);
+
+        assertFalse(teams.isEmpty());
+        assertEquals(teams.size() * 3, teams.stream().flatMap(t -> t.getMembers().stream()).distinct().count());
+        assertEquals(teams.size(), teams.stream().map(Team::getName).distinct().count());
+    }
+
+    @Test
+    void testGamePartitionedTeamsShareOneGame() {
+        TeamService service = new TeamService();
+        // Six CHESS players, then six FIFA players, each block with three roles and types
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            players.add(TestPlayers.player(i, i < 6 ? Game.CHESS.ordinal() : Game.FIFA.ordinal(),
+                    i % 3, i % 10 + 1, TestPlayers.TYPES[i % 3]));
+        }
+
+        List<Team> teams = service.createTeamsByGame(players, 3);
+
+        assertEquals(4, teams.size());
+        for (Team team : teams) {
+            assertEquals(3, team.getMembers().size());
+            assertEquals(1, team.getGameCount().size());
+        }
+    }
+
+    @Test
+    void testGamePartitionedModeRejectsSizeNoGroupCanFill() {
+        TeamService service = new TeamService();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            players.add(TestPlayers.player(i, i < 6 ? Game.CHESS.ordinal() : Game.FIFA.ordinal(),
+                    i % 3, i % 10 + 1, TestPlayers.TYPES[i % 3]));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> service.createTeamsByGame(players, 7));
+    }
+
+    @Test
+    void testResumeFormationKeepsTeamsAndAddsNewcomers() {
+        TeamService service = new TeamService();
+        List<Player> players = new ArrayList<>(List.of(
+                new Player("A","1","a@x.com",Game.VALORANT,6,Role.DEFENDER,80,"Leader"),
+                new Player("B","2","b@x.com",Game.CSGO,7,Role.SUPPORTER,60,"Thinker"),
+                new Player("C","3","c@x.com",Game.VALORANT,6,Role.STRATEGIST,70,"Balanced")
+        ));
+        List<Team> teams = service.createTeams(players, 3);
+        FormationSnapshot snapshot = service.snapshot(teams, 3);
+        assertEquals(1, snapshot.getValidTeams());
+
+        players.add(new Player("D","4","d@x.com",Game.FIFA,5,Role.ATTACKER,92,"Leader"));
+        players.add(new Player("E","5","e@x.com",Game.CHESS,8,Role.COORDINATOR,55,"Thinker"));
+        players.add(new Player("F","6","f@x.com",Game.DOTA2,6,Role.DEFENDER,75,"Balanced"));
+        List<Team> resumed = service.resumeFormation(snapshot, players);
+
+        assertEquals(2, resumed.size());
+        assertEquals(6, resumed.stream().flatMap(t -> t.getMembers().stream()).distinct().count());
+    }
+
+    @Test
+    void testResumedTeamsAreNumberedUniquely() {
+        TeamService service = new TeamService();
+        List<Player> players = new ArrayList<>(List.of(
+                new Player("A","1","a@x.com",Game.VALORANT,6,Role.DEFENDER,80,"Leader"),
+                new Player("B","2","b@x.com",Game.CSGO,7,Role.SUPPORTER,60,"Thinker"),
+                new Player("C","3","c@x.com",Game.VALORANT,6,Role.STRATEGIST,70,"Balanced")
+        ));
+        FormationSnapshot snapshot = service.snapshot(service.createTeams(players, 3), 3);
+
+        players.add(new Player("D","4","d@x.com",Game.FIFA,5,Role.ATTACKER,92,"Leader"));
+        players.add(new Player("E","5","e@x.com",Game.CHESS,8,Role.COORDINATOR,55,"Thinker"));
+        players.add(new Player("F","6","f@x.com",Game.DOTA2,6,Role.DEFENDER,75,"Balanced"));
+        players.add(new Player("G","7","g@x.com",Game.BASKETBALL,7,Role.STRATEGIST,95,"Leader"));
+        players.add(new Player("H","8","h@x.com",Game.FIFA,6,Role.SUPPORTER,58,"Thinker"));
+        players.add(new Player("I","9","i@x.com",Game.CSGO,5,Role.ATTACKER,65,"Balanced"));
+        List<Team> resumed = service.resumeFormation(snapshot, players);
+
+        assertEquals(3, resumed.size());
+        assertEquals(List.of("Team 1", "Team 2", "Team 3"), resumed.stream().map(Team::getName).toList());
+    }
+
+    @Test
+    void testTeamSizeLimitsFollowConfiguredRules() {
+        // No leader or thinker required and two roles suffice, so pairs are valid teams
+        TeamService service = new TeamService(new TeamRules(2, 2, 1, 2, 0, 0));
+        List<Player> players = List.of(
+                new Player("A","1","a@x.com",Game.VALORANT,6,Role.DEFENDER,50,"Balanced"),
+                new Player("B","2","b@x.com",Game.CSGO,7,Role.SUPPORTER,50,"Balanced"),
+                new Player("C","3","c@x.com",Game.FIFA,5,Role.DEFENDER,50,"Balanced"),
+                new Player("D","4","d@x.com",Game.CHESS,6,Role.SUPPORTER,50,"Balanced")
+        );
+
+        List<Team> teams = service.createTeams(players, 2);
+
+        assertEquals(2, teams.size());
+    }
 }
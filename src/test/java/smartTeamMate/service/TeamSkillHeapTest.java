@@ -0,0 +1,45 @@
+package test.java.smartTeamMate.service;
+
+import org.junit.jupiter.api.Test;
+import smartTeamMate.service.TeamSkillHeap;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamSkillHeapTest {
+
+    @Test
+    void testUpdatesTrackExtremesAndRange() {
+        Random r = new Random(7);
+        double[] avg = new double[40];
+        for (int i = 0; i < avg.length; i++) avg[i] = r.nextInt(100) / 10.0;
+        TeamSkillHeap heap = new TeamSkillHeap(avg);
+
+        for (int step = 0; step < 500; step++) {
+            int team = r.nextInt(avg.length);
+            avg[team] = r.nextInt(100) / 10.0;
+            heap.update(team, avg[team]);
+
+            double max = Double.NEGATIVE_INFINITY, min = Double.POSITIVE_INFINITY;
+            for (double v : avg) {
+                max = Math.max(max, v);
+                min = Math.min(min, v);
+            }
+            assertEquals(max, avg[heap.highestTeam()]);
+            assertEquals(min, avg[heap.lowestTeam()]);
+            assertEquals(max - min, heap.range(), 1e-9);
+        }
+    }
+
+    @Test
+    void testRangeWithDoesNotModifyHeap() {
+        TeamSkillHeap heap = new TeamSkillHeap(new double[]{5.0, 9.0, 1.0, 6.0});
+
+        // Lifting the lowest and lowering the highest team leaves 5.0 .. 6.0
+        assertEquals(1.0, heap.rangeWith(1, 5.5, 2, 5.5), 1e-9);
+        assertEquals(8.0, heap.range(), 1e-9);
+        assertEquals(1, heap.highestTeam());
+        assertEquals(2, heap.lowestTeam());
+    }
+}
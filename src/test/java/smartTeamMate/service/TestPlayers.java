@@ -0,0 +1,45 @@
+package test.java.smartTeamMate.service;
+
+import smartTeamMate.model.Game;
+import smartTeamMate.model.Player;
+import smartTeamMate.model.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Generated player cohorts shared by the service tests.
+ */
+final class TestPlayers {
+
+    static final String[] TYPES = {"Leader", "Thinker", "Balanced"};
+
+    private TestPlayers() {
+    }
+
+    /** Player number i; game and role ordinals wrap around their enums */
+    static Player player(int i, int game, int role, int skill, String type) {
+        return new Player("N" + i, "P" + i, "p@x.com", Game.values()[game % Game.values().length], skill,
+                Role.values()[role % Role.values().length], 60, type);
+    }
+
+    /** Players whose game, role and skill (1-10) cycle with their number, typed by the function */
+    static List<Player> cycling(int count, IntFunction<String> type) {
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) players.add(player(i, i, i, i % 10 + 1, type.apply(i)));
+        return players;
+    }
+
+    /** Players with uniformly random game, role, skill and personality type */
+    static List<Player> random(int count, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(player(i, random.nextInt(Game.values().length), random.nextInt(Role.values().length),
+                    1 + random.nextInt(10), TYPES[random.nextInt(TYPES.length)]));
+        }
+        return players;
+    }
+}